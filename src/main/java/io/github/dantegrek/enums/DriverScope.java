@@ -0,0 +1,21 @@
+package io.github.dantegrek.enums;
+
+/**
+ * Scopes in which one playwright driver process is shared between browsers.
+ */
+public enum DriverScope {
+    /**
+     * Each thread leases its own driver, safe for parallel execution. Driver is closed by closeBrowser()
+     * of the last browser of thread.
+     */
+    THREAD,
+    /**
+     * Each actor leases its own driver, default for named actors which can be used from different threads.
+     */
+    ACTOR,
+    /**
+     * One driver for whole JVM, use it only when tests are executed in one thread,
+     * because playwright objects are not thread safe.
+     */
+    JVM
+}
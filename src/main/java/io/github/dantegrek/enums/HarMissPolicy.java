@@ -0,0 +1,19 @@
+package io.github.dantegrek.enums;
+
+/**
+ * What HAR replay does with request which has no recorded entry.
+ */
+public enum HarMissPolicy {
+    /**
+     * Request is aborted, page sees network error.
+     */
+    ABORT,
+    /**
+     * Request goes to real server.
+     */
+    PASS_THROUGH,
+    /**
+     * Request is aborted and action of actor which caused it fails.
+     */
+    FAIL
+}
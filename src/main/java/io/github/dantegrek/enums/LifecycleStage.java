@@ -0,0 +1,31 @@
+package io.github.dantegrek.enums;
+
+/**
+ * Stages of browser lifecycle which durations are recorded in actor metrics.
+ */
+public enum LifecycleStage {
+    /**
+     * Lease of playwright driver, includes creation of new driver process when scope does not have one.
+     */
+    DRIVER_CREATION,
+    /**
+     * Launch of browser, lease from browser pool or connection to shared browser.
+     */
+    BROWSER_LAUNCH,
+    /**
+     * Creation of new context or reuse of recycled one.
+     */
+    CONTEXT_CREATION,
+    /**
+     * Creation of new page or reuse of warm one from page pool.
+     */
+    PAGE_CREATION,
+    /**
+     * Start of tracing.
+     */
+    TRACE_START,
+    /**
+     * Stop of tracing with saving of trace file.
+     */
+    TRACE_STOP
+}
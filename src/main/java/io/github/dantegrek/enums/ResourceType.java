@@ -0,0 +1,68 @@
+package io.github.dantegrek.enums;
+
+/**
+ * Resource type of request as the rendering engine perceives it.
+ */
+public enum ResourceType {
+    /**
+     * Html document of page or frame.
+     */
+    DOCUMENT("document"),
+    /**
+     * Css style sheet.
+     */
+    STYLESHEET("stylesheet"),
+    /**
+     * Image, including svg and favicon.
+     */
+    IMAGE("image"),
+    /**
+     * Audio or video.
+     */
+    MEDIA("media"),
+    /**
+     * Web font.
+     */
+    FONT("font"),
+    /**
+     * Java script file.
+     */
+    SCRIPT("script"),
+    /**
+     * Text track of video.
+     */
+    TEXTTRACK("texttrack"),
+    /**
+     * Request sent by XMLHttpRequest.
+     */
+    XHR("xhr"),
+    /**
+     * Request sent by fetch().
+     */
+    FETCH("fetch"),
+    /**
+     * Server sent events.
+     */
+    EVENTSOURCE("eventsource"),
+    /**
+     * Web socket handshake.
+     */
+    WEBSOCKET("websocket"),
+    /**
+     * Web app manifest.
+     */
+    MANIFEST("manifest"),
+    /**
+     * Any other request.
+     */
+    OTHER("other");
+
+    /**
+     * value Playwright reports.
+     */
+    public final String type;
+
+    ResourceType(String type) {
+        this.type = type;
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.dantegrek.jplay;
 
+import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Route;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import org.opentest4j.AssertionFailedError;
 
@@ -12,9 +14,107 @@ import static io.github.dantegrek.jplay.JsStrings.JS_PSEUDO_ELEMENT_CONTENT;
  */
 abstract class AbstractActivity {
     /**
-     * Internal pointer on actor.
+     * Internal pointer on actor, it is rebound to actor which performs activity.
+     * Activity does not create actor of thread it is built in, e.g. executor thread which only builds tasks
+     * for named actor, it is bound to actor of thread only if thread already has one.
+     *
+     * @deprecated field is null while activity built on thread without actor is not performed yet,
+     * use 'boundActor()' which falls back to actor of current thread.
+     */
+    @Deprecated
+    protected Actor actor;
+
+    /**
+     * Activity of current thread actor, actor is resolved when activity is given to actor.
+     */
+    protected AbstractActivity() {
+        this.actor = Actor.existingActor();
+    }
+
+    /**
+     * Activity of explicit actor, e.g. created by 'Actor.create(name)'.
+     *
+     * @param actor which performs activity
      */
-    protected Actor actor = Actor.actor();
+    protected AbstractActivity(Actor actor) {
+        this.actor = actor;
+    }
+
+    /**
+     * Actor which performs activity, activity performed without actor is bound to actor of current thread.
+     *
+     * @return instance of Actor
+     */
+    protected Actor boundActor() {
+        if (this.actor == null) {
+            this.actor = Actor.actor();
+        }
+        return this.actor;
+    }
+
+    /**
+     * Binds activity to actor which performs it.
+     *
+     * @param actor which performs activity
+     */
+    void bind(Actor actor) {
+        this.actor = actor;
+    }
+
+    /**
+     * Remembers how to remove route put by activity, so recycled context can be cleaned from it
+     * and leak detector can report route which was not removed.
+     *
+     * @param context context of route or context of page with route
+     * @param target  page or context route is put on
+     * @param matcher url glob or predicate of route
+     * @param route   route itself, routes are tracked by identity, so routes with the same url do not collide
+     * @param unroute removes route
+     */
+    protected void trackRoute(BrowserContext context, Object target, Object matcher, Object route, Runnable unroute) {
+        boundActor().trackRoute(context, target, matcher, route, unroute);
+    }
+
+    /**
+     * Base url of context, relative urls and globs are resolved against it as in playwright.
+     *
+     * @param context of route
+     * @return base url or null
+     */
+    protected String baseUrl(BrowserContext context) {
+        return boundActor().baseUrl(context);
+    }
+
+    /**
+     * Forgets route which was removed without actor, e.g. after its last usage.
+     *
+     * @param route given to 'trackRoute(...)'
+     */
+    protected void untrackRoute(Object route) {
+        LeakDetector.untrack(route);
+    }
+
+    /**
+     * Aborts route if blocking policy of context blocks its request. Route which is resumed or fetched
+     * by task goes past route of policy, so task asks policy itself.
+     *
+     * @param context of route
+     * @param route   intercepted route
+     * @return true if route was aborted
+     */
+    protected static boolean abortIfBlocked(BrowserContext context, Route route) {
+        return RequestBlocker.abortIfBlocked(context, route);
+    }
+
+    /**
+     * Makes counters of route readable by 'actor.routeStats(name)' and 'expectThat().mock(name)'.
+     *
+     * @param name  of route given in 'forUrl(name, ...)'
+     * @param stats counters of route
+     */
+    protected void registerRouteStats(String name, RouteStats stats) {
+        boundActor().registerRouteStats(name, stats);
+    }
 
     /**
      * This method returns locator object which is tied to current page/frame.
@@ -23,7 +123,7 @@ abstract class AbstractActivity {
      * @return Locator object
      */
     protected Locator findBy(String selector) {
-        return actor.currentFrame().locator(selector);
+        return boundActor().currentFrame().locator(selector);
     }
 
     /**
@@ -33,7 +133,7 @@ abstract class AbstractActivity {
      * @return Locator object
      */
     protected Locator findByContainsText(String text) {
-        return actor.currentFrame().locator(String.format("text=%s", text));
+        return boundActor().currentFrame().locator(String.format("text=%s", text));
     }
 
     /**
@@ -43,7 +143,7 @@ abstract class AbstractActivity {
      * @return Locator object
      */
     protected Locator findByText(String text) {
-        return actor.currentFrame().locator(String.format(":text(%s)", text));
+        return boundActor().currentFrame().locator(String.format(":text(%s)", text));
     }
 
     /**
@@ -54,6 +154,6 @@ abstract class AbstractActivity {
      * @return Locator object
      */
     protected Locator findAncestorWithChild(String ancestor, String child) {
-        return actor.currentFrame().locator(String.format("%s:has(%s)", ancestor, child));
+        return boundActor().currentFrame().locator(String.format("%s:has(%s)", ancestor, child));
     }
 }
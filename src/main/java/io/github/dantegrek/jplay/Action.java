@@ -6,22 +6,38 @@ package io.github.dantegrek.jplay;
  */
 public abstract class Action extends AbstractActivity implements IAction {
 
+    /**
+     * Action of current thread actor.
+     */
+    protected Action() {
+        super();
+    }
+
+    /**
+     * Action of explicit actor.
+     *
+     * @param actor which performs action
+     */
+    protected Action(Actor actor) {
+        super(actor);
+    }
+
     /**
      * Return you to actor invocation chain.
-     * @return instance of Actor for current thread.
+     * @return instance of Actor which performs action.
      */
     @Override
     public Actor and() {
-        return actor;
+        return boundActor();
     }
 
     /**
      * Return you to actor invocation chain.
-     * @return instance of Actor for current thread.
+     * @return instance of Actor which performs action.
      */
     @Override
     public Actor then() {
-        return actor;
+        return boundActor();
     }
 
 }
@@ -2,11 +2,15 @@ package io.github.dantegrek.jplay;
 
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.*;
+import io.github.dantegrek.enums.DriverScope;
 import io.github.dantegrek.enums.Key;
+import io.github.dantegrek.enums.LifecycleStage;
 
 import java.nio.file.Path;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import static io.github.dantegrek.jplay.JsStrings.JS_PSEUDO_ELEMENT_CONTENT;
@@ -14,14 +18,19 @@ import static io.github.dantegrek.jplay.JsStrings.JS_PSEUDO_ELEMENT_CONTENT;
 /**
  * This is main class in project. Ir represents actor which act with system under test.
  */
-public final class Actor {
+public final class Actor implements AutoCloseable {
 
-    private Configuration configuration = new Configuration(this);
+    private final String name;
+    private Configuration configuration;
     private BrowserManager browserManager = new BrowserManager();
     private Memory memory = new Memory();
-    private static ThreadLocal<Actor> actor = ThreadLocal.withInitial(() -> new Actor());
+    private final Map<String, RouteStats> routeStats = new ConcurrentHashMap<>();
+    private static ThreadLocal<Actor> actor = new ThreadLocal<>();
+    private static final Map<String, Actor> namedActors = new ConcurrentHashMap<>();
 
-    private Actor() {
+    private Actor(String name) {
+        this.name = name;
+        this.configuration = newConfiguration();
     }
 
     /**
@@ -31,9 +40,105 @@ public final class Actor {
      * @return instance of Actor if already exists and creates new if not.
      */
     public static Actor actor() {
+        Actor current = actor.get();
+        if (current == null) {
+            current = new Actor(null);
+            actor.set(current);
+        }
+        return current;
+    }
+
+    /**
+     * Actor of current thread without creating it.
+     *
+     * @return instance of Actor or null if thread has no actor yet
+     */
+    static Actor existingActor() {
         return actor.get();
     }
 
+    // Named actors
+
+    /**
+     * Creates actor which is not bound to thread, it can be passed between threads and executors,
+     * but should be used by one thread at a time. Named actor has own playwright driver
+     * which is closed by 'close()'.
+     *
+     * @param name uniq name of actor
+     * @return new instance of Actor
+     */
+    public static Actor create(String name) {
+        Actor named = new Actor(name);
+        if (namedActors.putIfAbsent(name, named) != null) {
+            throw new RuntimeException("Actor with name '" + name + "' already exists.");
+        }
+        return named;
+    }
+
+    /**
+     * Returns actor created by 'Actor.create(name)' which was not closed yet.
+     *
+     * @param name of actor
+     * @return instance of Actor
+     */
+    public static Actor named(String name) {
+        Actor named = namedActors.get(name);
+        if (named == null) {
+            throw new RuntimeException("There is no actor with name '" + name + "'.");
+        }
+        return named;
+    }
+
+    /**
+     * Executor for named actors, on Java 21+ each task runs in own virtual thread.
+     *
+     * @return instance of ExecutorService
+     */
+    public static ExecutorService newExecutor() {
+        return Threads.newExecutor();
+    }
+
+    /**
+     * Name of actor.
+     *
+     * @return name given in 'Actor.create(name)' or null for actor of thread.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Closes browser if it was not closed, clears memory and driver of actor.
+     * Named actor is removed and its name can be used again, actor of thread is removed from thread.
+     */
+    @Override
+    public void close() {
+        try {
+            if (this.hasBrowser()) {
+                this.closeBrowser();
+            }
+        } finally {
+            this.clearMemory();
+            this.getBrowserManager().closeDriver();
+            if (this.name != null) {
+                namedActors.remove(this.name, this);
+            } else {
+                actor.remove();
+            }
+        }
+    }
+
+    private Configuration newConfiguration() {
+        String profile = ConfigurationProfiles.defaultProfile();
+        Configuration newConfiguration = profile != null ?
+                new Configuration(this, ConfigurationProfiles.template(profile)) : new Configuration(this);
+        if (this.name != null) {
+            // named actor can hop threads, driver of thread could die with it.
+            newConfiguration.withDriverScope(DriverScope.ACTOR);
+        }
+        return newConfiguration;
+    }
+
     // Memory
 
     /**
@@ -108,6 +213,59 @@ public final class Actor {
         return browserManager;
     }
 
+    /**
+     * Checks if actor has started browser which was not closed yet.
+     *
+     * @return boolean
+     */
+    boolean hasBrowser() {
+        return this.getBrowserManager().getBrowser() != null;
+    }
+
+    /**
+     * Remembers how to remove route put by task, so recycled context can be cleaned from it.
+     *
+     * @param context of route
+     * @param target  page or context route is put on
+     * @param matcher url glob or predicate of route
+     * @param route   route itself, leak detector tracks it by identity
+     * @param unroute removes route
+     */
+    void trackRoute(BrowserContext context, Object target, Object matcher, Object route, Runnable unroute) {
+        this.getBrowserManager().getContextRecycler().trackRoute(context, List.of(target, matcher), () -> {
+            unroute.run();
+            LeakDetector.untrack(route);
+        });
+        if (LeakDetector.isEnabled()) {
+            LeakDetector.track(route, LeakDetector.Kind.ROUTE_HANDLER, leakOwner(), unroute);
+            context.onClose(closed -> LeakDetector.untrack(route));
+        }
+    }
+
+    /**
+     * Base url context was created with, relative urls of routes are resolved against it.
+     *
+     * @param context created by this actor
+     * @return base url or null
+     */
+    String baseUrl(BrowserContext context) {
+        ConfigurationSnapshot snapshot = this.getBrowserManager().getContextRecycler().snapshotOf(context);
+        return snapshot == null ? null : snapshot.contextOptions().baseURL;
+    }
+
+    /**
+     * Key of objects created by this actor in LeakDetector.
+     *
+     * @return Object
+     */
+    Object leakOwner() {
+        return this.getBrowserManager();
+    }
+
+    private void trackBrowser() {
+        LeakDetector.track(this.getBrowserManager(), LeakDetector.Kind.BROWSER, leakOwner(), this::closeBrowser);
+    }
+
     // Config methods
 
     /**
@@ -137,38 +295,194 @@ public final class Actor {
         return configuration;
     }
 
+    /**
+     * This method replaces configuration by copy of named profile, see ConfigurationProfiles.
+     * Later configuration of actor changes only its copy.
+     *
+     * @param name of profile
+     * @return instance of Actor
+     */
+    public Actor withProfile(String name) {
+        Configuration profileConfiguration = new Configuration(this, ConfigurationProfiles.template(name));
+        if (this.name != null) {
+            profileConfiguration.withDriverScope(DriverScope.ACTOR);
+        }
+        this.configuration = profileConfiguration;
+        return this;
+    }
+
     /**
      * This method creates new and clear configuration instance.
      *
      * @return instance of Configuration
      */
     public Actor clearConfig() {
-        this.configuration = new Configuration(this);
+        this.configuration = newConfiguration();
         this.isStrict = false;
         return this;
     }
 
+    // Puts storage state from cache to context options, login task is performed once per key.
+    private void applyCachedStorageState() {
+        String key = this.configuration.getStorageStateKey();
+        if (key != null) {
+            this.configuration.withStorageState(StorageStateCache.get(key, () -> logIn(this.configuration.getLoginTask())));
+        }
+    }
+
+    // Login is performed in separate context, context and page of actor are restored after it.
+    private String logIn(Task login) {
+        BrowserManager manager = this.getBrowserManager();
+        BrowserContext previousContext = manager.getBrowserContext();
+        Page previousPage = manager.getPage();
+        Frame previousFrame = manager.getFrame();
+        Browser.NewContextOptions options = PlaywrightOptions.copy(this.configuration.getContextOptions());
+        options.storageState = null;
+        options.storageStatePath = null;
+        BrowserContext loginContext = manager.getBrowser().newContext(options);
+        try {
+            manager.setBrowserContext(loginContext);
+            manager.setPage(PagePool.applyTimeouts(loginContext.newPage(), this.configuration));
+            manager.setFrame(null);
+            this.executeTask(login);
+            return loginContext.storageState();
+        } finally {
+            loginContext.close();
+            manager.setBrowserContext(previousContext);
+            manager.setPage(previousPage);
+            manager.setFrame(previousFrame);
+        }
+    }
+
     private void startTraceIfSpecified() {
         if (this.configuration.getWithTrace()) {
-            this.getBrowserManager()
+            this.getBrowserManager().getMetrics().time(LifecycleStage.TRACE_START, () -> this.getBrowserManager()
                     .getBrowserContext()
                     .tracing()
                     .start(new Tracing.StartOptions()
                             .setScreenshots(true)
-                            .setSnapshots(true));
+                            .setSnapshots(true)));
         }
     }
 
     private void stopAndSaveTrace() {
         if (this.configuration.getWithTrace()) {
-            this.getBrowserManager()
+            this.getBrowserManager().getMetrics().time(LifecycleStage.TRACE_STOP, () -> this.getBrowserManager()
                     .getBrowserContext()
                     .tracing()
                     .stop(new Tracing.StopOptions().setPath(
-                            this.configuration.getTraceDir().resolve(this.configuration.getTraceName())));
+                            this.configuration.getTraceDir().resolve(this.configuration.getTraceName()))));
         }
     }
 
+    /**
+     * Registers counters of named route, route performed later with the same name replaces them.
+     *
+     * @param name  of route
+     * @param stats counters of route
+     */
+    void registerRouteStats(String name, RouteStats stats) {
+        this.routeStats.put(name, stats);
+    }
+
+    /**
+     * Counters of Mock, Request or HarReplay with name given in 'forUrl(name, ...)'.
+     *
+     * @param name of route
+     * @return instance of RouteStats
+     */
+    public RouteStats routeStats(String name) {
+        RouteStats stats = this.routeStats.get(name);
+        if (stats == null) {
+            throw new RuntimeException("Route with name '" + name + "' was not performed by this actor.");
+        }
+        return stats;
+    }
+
+    /**
+     * Starts recording requests of current page into ring buffer of 1000 requests without bodies.
+     *
+     * @return instance of Actor
+     */
+    public Actor startNetworkCapture() {
+        return this.startNetworkCapture(1000, 0);
+    }
+
+    /**
+     * Starts recording requests of current page into ring buffer, the oldest requests are dropped
+     * when buffer is full. Capture started earlier on current page is replaced.
+     *
+     * @param capacity    max amount of recorded requests
+     * @param maxBodySize bodies are recorded truncated to this size in bytes, 0 does not record bodies
+     * @return instance of Actor
+     */
+    public Actor startNetworkCapture(int capacity, int maxBodySize) {
+        if (this.currentPage() == null) {
+            throw new RuntimeException("You have to start context and page before capturing network.");
+        }
+        NetworkCapture.start(this.currentPage(), capacity, maxBodySize, baseUrl(this.currentPage().context()));
+        return this;
+    }
+
+    /**
+     * Stops recording requests of current page, recorded requests are still available in 'networkCapture()'
+     * till next capture is started.
+     *
+     * @return instance of Actor
+     */
+    public Actor stopNetworkCapture() {
+        if (this.currentPage() != null) {
+            NetworkCapture.stop(this.currentPage());
+        }
+        return this;
+    }
+
+    /**
+     * Requests recorded on current page since 'startNetworkCapture()'.
+     *
+     * @return instance of NetworkCapture
+     */
+    public NetworkCapture networkCapture() {
+        NetworkCapture capture = this.currentPage() == null ? null : NetworkCapture.of(this.currentPage());
+        if (capture == null) {
+            throw new RuntimeException("Network capture was not started on current page, use 'startNetworkCapture()'.");
+        }
+        return capture;
+    }
+
+    /**
+     * Counters of requests aborted by blocking policy of current context.
+     *
+     * @return instance of BlockedRequests
+     */
+    public BlockedRequests blockedRequests() {
+        if (this.currentPage() == null) {
+            throw new RuntimeException("You have to start context and page before checking blocked requests.");
+        }
+        return RequestBlocker.blocked(this.currentPage().context());
+    }
+
+    /**
+     * Durations of driver creation, browser launch, context and page creation and tracing of this actor.
+     * Metrics of all actors are available in 'LifecycleMetrics.global()'.
+     *
+     * @return instance of LifecycleMetrics
+     */
+    public LifecycleMetrics metrics() {
+        return this.getBrowserManager().getMetrics();
+    }
+
+    /**
+     * Immutable copy of configuration current browser and context were started with,
+     * if browser is not started copy of current configuration is returned.
+     *
+     * @return instance of ConfigurationSnapshot
+     */
+    public ConfigurationSnapshot configurationSnapshot() {
+        ConfigurationSnapshot snapshot = this.getBrowserManager().getSnapshot();
+        return snapshot != null ? snapshot : this.configuration.snapshot();
+    }
+
     /**
      * Start tracing chunk
      *
@@ -221,9 +535,34 @@ public final class Actor {
      * @return instance of Actor
      */
     public Actor startBrowser() {
-        this.getBrowserManager().startBrowserContextAndTab(this.configuration);
+        this.getBrowserManager().startBrowserContextAndTab(this.configuration, this::applyCachedStorageState);
+        this.trackBrowser();
         this.startTraceIfSpecified();
-        return actor.get();
+        return this;
+    }
+
+    /**
+     * This method starts browser with new context and tab in background, so you can prepare test data meanwhile.
+     * First method which needs browser, context or page waits till start is finished
+     * and throws exception if start failed.
+     *
+     * @return instance of Actor
+     */
+    public Actor startBrowserAsync() {
+        this.getBrowserManager().startBrowserContextAndTabAsync(this.configuration, this::applyCachedStorageState,
+                this::startTraceIfSpecified);
+        this.trackBrowser();
+        return this;
+    }
+
+    /**
+     * This method waits till browser started by 'startBrowserAsync()' is ready.
+     *
+     * @return instance of Actor
+     */
+    public Actor awaitBrowser() {
+        this.getBrowserManager().awaitStartup();
+        return this;
     }
 
     /**
@@ -233,7 +572,19 @@ public final class Actor {
      */
     public Actor startPureBrowser() {
         this.getBrowserManager().startBrowserOnly(this.configuration);
-        return actor.get();
+        this.trackBrowser();
+        return this;
+    }
+
+    /**
+     * This method launches browsers for current browser config in background,
+     * so next 'startBrowser()' with 'withBrowserPool(true)' takes warm browser from pool.
+     *
+     * @return instance of Actor
+     */
+    public Actor warmUpBrowserPool() {
+        BrowserPool.warmUp(this.configuration.snapshot());
+        return this;
     }
 
     /**
@@ -242,6 +593,7 @@ public final class Actor {
      * @return instance of Actor
      */
     public Actor closeBrowser() {
+        LeakDetector.untrack(this.getBrowserManager());
         this.stopAndSaveTrace();
         this.getBrowserManager().closeBrowser();
         this.getBrowserManager().setBrowser(null);
@@ -260,9 +612,10 @@ public final class Actor {
      * @return instance of Actor
      */
     public Actor createContextAndTab() {
+        this.applyCachedStorageState();
         this.getBrowserManager().createContextWithTab(this.configuration);
         this.startTraceIfSpecified();
-        return actor.get();
+        return this;
     }
 
     /**
@@ -272,7 +625,7 @@ public final class Actor {
      */
     public Actor closeCurrentContext() {
         this.stopAndSaveTrace();
-        this.getBrowserManager().getBrowserContext().close();
+        this.getBrowserManager().closeCurrentContext(this.configuration);
         this.getBrowserManager().setFrame(null);
         return this;
     }
@@ -283,7 +636,7 @@ public final class Actor {
      * @return List of BrowserContexts.
      */
     private List<BrowserContext> getContextsFromBrowser() {
-        List<BrowserContext> contexts = this.getBrowserManager().getBrowser().contexts();
+        List<BrowserContext> contexts = this.getBrowserManager().getActiveContexts();
         if (contexts.isEmpty()) {
             throw new RuntimeException("Browser does not have contexts, please start one using method " +
                     "'createContextAndTab()' or use 'startBrowser()' to create browser with context and tab.");
@@ -338,8 +691,8 @@ public final class Actor {
                     "Please use 'createContextAndTab()' instead of 'openNewTab()' " +
                     "or 'startBrowser()' instead of 'startPureBrowser()', it will create browser with tab.");
         }
-        this.getBrowserManager().setPage(context.newPage());
-        return actor.get();
+        this.getBrowserManager().openNewTab(this.configuration);
+        return this;
     }
 
     /**
@@ -348,13 +701,13 @@ public final class Actor {
      * @return instance of Actor
      */
     public Actor closeCurrentTab() {
-        this.getBrowserManager().getPage().close();
+        this.getBrowserManager().closeCurrentTab(this.configuration);
         this.getBrowserManager().setFrame(null);
-        return actor.get();
+        return this;
     }
 
     private List<Page> getPagesFromCurrentContext() {
-        List<Page> pages = this.getBrowserManager().getPage().context().pages();
+        List<Page> pages = this.getBrowserManager().getActivePages();
         if (pages.isEmpty()) {
             throw new RuntimeException("Current context does not have pages, " +
                     "please start one with method 'openNewTab()' or change current context with 'switchContextByIndex()'" +
@@ -373,7 +726,7 @@ public final class Actor {
         Page page = this.getPagesFromCurrentContext().get(index);
         this.getBrowserManager().setPage(page);
         page.bringToFront();
-        return actor.get();
+        return this;
     }
 
     /**
@@ -392,7 +745,7 @@ public final class Actor {
             throw new RuntimeException("None of tabs in current context has title '" + title + "'");
         }
         this.getBrowserManager().setPage(pages.get(0));
-        return actor.get();
+        return this;
     }
 
     /**
@@ -408,7 +761,7 @@ public final class Actor {
         } else {
             throw new RuntimeException("Iframe was not fund by selector: '" + selector + "'");
         }
-        return actor.get();
+        return this;
     }
 
     /**
@@ -418,7 +771,7 @@ public final class Actor {
      */
     public Actor switchOnMainFrame() {
         this.getBrowserManager().setFrame(null);
-        return actor.get();
+        return this;
     }
 
     // Waits
@@ -985,6 +1338,12 @@ public final class Actor {
         }
     }
 
+    // Routes of Mock and Request tasks are kept in route table, playwright unroute does not see them.
+    private void removeRoutes(Object target, Object matcher) {
+        BrowserContext context = target instanceof Page ? ((Page) target).context() : (BrowserContext) target;
+        this.getBrowserManager().getContextRecycler().removeRoutes(context, List.of(target, matcher));
+    }
+
     /**
      * Removes Mock or Request from page by url
      *
@@ -993,6 +1352,7 @@ public final class Actor {
      */
     public Actor removeMockFromPageForUrl(String url) {
         checkPageNotNullBeforeRemoveMock();
+        removeRoutes(this.currentPage(), url);
         this.currentPage().unroute(url);
         return this;
     }
@@ -1005,6 +1365,7 @@ public final class Actor {
      */
     public Actor removeMockFromContextForUrl(String url) {
         checkPageNotNullBeforeRemoveMock();
+        removeRoutes(this.currentPage().context(), url);
         this.currentPage().context().unroute(url);
         return this;
     }
@@ -1017,7 +1378,7 @@ public final class Actor {
      */
     public Actor removeRoutFromPageForUrlByName(String name) {
         checkPageNotNullBeforeRemoveMock();
-        this.currentPage().unroute(this.<Predicate<String>>recall(name));
+        removeRoutes(this.currentPage(), this.recall(name));
         return this;
     }
 
@@ -1029,17 +1390,19 @@ public final class Actor {
      */
     public Actor removeRoutFromContextForUrlByName(String name) {
         checkPageNotNullBeforeRemoveMock();
-        this.currentPage().context().unroute(this.<Predicate<String>>recall(name));
+        removeRoutes(this.currentPage().context(), this.recall(name));
         return this;
     }
 
     // Execute actions and tasks methods
 
     private <T extends Action> T executeAction(T action) {
+        action.bind(this);
         return action;
     }
 
     private Actor executeTask(Task task) {
+        task.bind(this);
         task.perform();
         return this;
     }
@@ -0,0 +1,114 @@
+package io.github.dantegrek.jplay;
+
+import io.github.dantegrek.enums.ResourceType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of requests aborted by blocking policy of one context, see 'withBlockedResourceTypes(...)',
+ * 'withBlockedHosts(...)' and 'withBlockedUrls(...)'. The latest blocked urls are kept to check that
+ * nothing important was blocked.
+ */
+public final class BlockedRequests {
+
+    private static final int MAX_URLS = 100;
+
+    private final LongAdder total = new LongAdder();
+    private final Map<String, LongAdder> byRule = new ConcurrentHashMap<>();
+    private final Deque<String> urls = new ArrayDeque<>();
+
+    /**
+     * Records blocked request.
+     *
+     * @param rule which blocked request, e.g. 'host:example.com'
+     * @param url  of request
+     */
+    void record(String rule, String url) {
+        this.total.increment();
+        this.byRule.computeIfAbsent(rule, key -> new LongAdder()).increment();
+        synchronized (this.urls) {
+            if (this.urls.size() == MAX_URLS) {
+                this.urls.removeFirst();
+            }
+            this.urls.addLast(url);
+        }
+    }
+
+    static String resourceTypeRule(String resourceType) {
+        return "type:" + resourceType;
+    }
+
+    static String hostRule(String host) {
+        return "host:" + host;
+    }
+
+    static String urlRule(String globPattern) {
+        return "url:" + globPattern;
+    }
+
+    private long count(String rule) {
+        LongAdder counter = this.byRule.get(rule);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Amount of all blocked requests.
+     *
+     * @return long
+     */
+    public long getTotal() {
+        return this.total.sum();
+    }
+
+    /**
+     * Amount of requests blocked by resource type.
+     *
+     * @param resourceType given in 'withBlockedResourceTypes(...)'
+     * @return long
+     */
+    public long getByResourceType(ResourceType resourceType) {
+        return count(resourceTypeRule(resourceType.type));
+    }
+
+    /**
+     * Amount of requests blocked by host.
+     *
+     * @param host given in 'withBlockedHosts(...)'
+     * @return long
+     */
+    public long getByHost(String host) {
+        return count(hostRule(host.toLowerCase()));
+    }
+
+    /**
+     * Amount of requests blocked by url glob.
+     *
+     * @param globPattern given in 'withBlockedUrls(...)'
+     * @return long
+     */
+    public long getByUrl(String globPattern) {
+        return count(urlRule(globPattern));
+    }
+
+    /**
+     * The latest blocked urls, at most 100.
+     *
+     * @return List of String
+     */
+    public List<String> getUrls() {
+        synchronized (this.urls) {
+            return new ArrayList<>(this.urls);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "total=" + getTotal() + ", " + this.byRule;
+    }
+}
@@ -2,16 +2,40 @@ package io.github.dantegrek.jplay;
 
 import com.microsoft.playwright.*;
 import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.LifecycleStage;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * This class is browser, context and page keeper.
  */
 class BrowserManager {
 
+    private static final AtomicInteger startupCounter = new AtomicInteger();
+    private static final ExecutorService startupExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "jplay-browser-startup-" + startupCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Future<?> startup;
+    private volatile Thread startupThread;
+    private Playwright playwright;
+    private BrowserPool.PooledBrowser pooledBrowser;
     private Browser browser;
     private BrowserContext browserContext;
     private Page page;
     private Frame frame;
+    private volatile ConfigurationSnapshot snapshot;
+    private final LifecycleMetrics metrics = LifecycleMetrics.forActor();
+    private final PagePool pagePool = new PagePool();
+    private final ContextRecycler contextRecycler = new ContextRecycler(pagePool);
 
     void setBrowser(Browser browser) {
         this.browser = browser;
@@ -30,66 +54,290 @@ class BrowserManager {
     }
 
     Frame getFrame() {
+        awaitStartup();
         return this.frame;
     }
 
     Browser getBrowser() {
+        awaitStartup();
         return browser;
     }
 
     BrowserContext getBrowserContext() {
+        awaitStartup();
         return browserContext;
     }
 
     Page getPage() {
+        awaitStartup();
         return page;
     }
 
+    LifecycleMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Getter
+     *
+     * @return snapshot of configuration current browser and context were started with or null.
+     */
+    ConfigurationSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    ContextRecycler getContextRecycler() {
+        return this.contextRecycler;
+    }
+
     void closeBrowser() {
-        browser.close();
+        RuntimeException startupError = null;
+        try {
+            awaitStartup();
+        } catch (RuntimeException e) {
+            // async start failed, part which was started still has to be closed.
+            startupError = e;
+        }
+        this.contextRecycler.clear();
+        this.pagePool.clear();
+        this.snapshot = null;
+        // pages, contexts and handlers are closed together with browser.
+        LeakDetector.untrackOwner(this);
+        if (this.pooledBrowser != null) {
+            BrowserPool.giveBack(this.pooledBrowser);
+            this.pooledBrowser = null;
+        } else {
+            try {
+                if (browser != null) {
+                    browser.close();
+                }
+            } finally {
+                PlaywrightPool.release(this.playwright);
+                this.playwright = null;
+            }
+        }
+        if (startupError != null) {
+            throw startupError;
+        }
+    }
+
+    /**
+     * Closes driver leased by this manager in ACTOR scope.
+     */
+    void closeDriver() {
+        PlaywrightPool.closeOwned(this);
     }
 
     // Start browser methods
-    private Browser startBrowserOnly(BrowserName browserName, BrowserType.LaunchOptions launchOptions) {
-        Playwright playwright = Playwright.create();
+
+    /**
+     * Launches browser, options are copied so channel of chrome or msedge does not change configuration.
+     *
+     * @param playwright    driver to launch browser with
+     * @param browserName   name of browser
+     * @param launchOptions options from configuration
+     * @return instance of Browser
+     */
+    static Browser launch(Playwright playwright, BrowserName browserName, BrowserType.LaunchOptions launchOptions) {
+        BrowserType.LaunchOptions options = PlaywrightOptions.copy(launchOptions);
         switch (browserName) {
             case CHROME:
                 return playwright.chromium()
-                        .launch(launchOptions
+                        .launch(options
                                 .setChannel(BrowserName.CHROME.name));
             case MSEDGE:
                 return playwright.chromium()
-                        .launch(launchOptions
+                        .launch(options
                                 .setChannel(BrowserName.MSEDGE.name));
             case WEBKIT:
                 return playwright.webkit()
-                        .launch(launchOptions);
+                        .launch(options);
             case FIREFOX:
                 return playwright.firefox()
-                        .launch(launchOptions);
+                        .launch(options);
             default:
                 return playwright.chromium()
-                        .launch(launchOptions);
+                        .launch(options);
+        }
+    }
+
+    private Browser startBrowserOnly(Configuration configuration, ConfigurationSnapshot snapshot, Object driverKey) {
+        this.playwright = this.metrics.time(LifecycleStage.DRIVER_CREATION, () -> PlaywrightPool.lease(driverKey));
+        try {
+            Playwright driver = this.playwright;
+            return this.metrics.time(LifecycleStage.BROWSER_LAUNCH, () -> {
+                if (configuration.getWithLocalBrowserServer()) {
+                    return LocalBrowserServers.connect(driver, snapshot);
+                } else if (configuration.getWithSharedBrowser()) {
+                    return SharedBrowsers.connect(driver, snapshot);
+                }
+                return launch(driver, snapshot.getBrowserName(), snapshot.launchOptions());
+            });
+        } catch (RuntimeException e) {
+            PlaywrightPool.release(this.playwright);
+            this.playwright = null;
+            throw e;
         }
     }
 
     void startBrowserOnly(Configuration configuration) {
-        setBrowser(startBrowserOnly(configuration.getBrowserName(), configuration.getLaunchOptions()));
+        startBrowserOnly(configuration, PlaywrightPool.scopeKey(configuration.getDriverScope(), this));
+    }
+
+    private void startBrowserOnly(Configuration configuration, Object driverKey) {
+        ConfigurationSnapshot browserSnapshot = configuration.snapshot();
+        this.snapshot = browserSnapshot;
+        if (configuration.getWithBrowserPool()) {
+            this.pooledBrowser = this.metrics.time(LifecycleStage.BROWSER_LAUNCH,
+                    () -> BrowserPool.lease(browserSnapshot));
+            setBrowser(this.pooledBrowser.getBrowser());
+        } else {
+            setBrowser(startBrowserOnly(configuration, browserSnapshot, driverKey));
+        }
+    }
+
+    void startBrowserContextAndTab(Configuration configuration, Runnable beforeContext) {
+        startBrowserOnly(configuration);
+        beforeContext.run();
+        createContextWithTab(configuration);
     }
 
-    void startBrowserContextAndTab(Configuration configuration) {
-        setBrowser(startBrowserOnly(configuration.getBrowserName(), configuration.getLaunchOptions()));
-        setBrowserContext(getBrowser().newContext(configuration.getContextOptions()));
-        setPage(getBrowserContext().newPage());
-        getPage().setDefaultNavigationTimeout(configuration.getDefaultNavigationTimeout());
-        getPage().setDefaultTimeout(configuration.getDefaultTimeout());
+    /**
+     * Starts browser, context and tab in background, getters of this class wait till start is finished.
+     * Driver scope is resolved in calling thread, so THREAD scope driver belongs to thread of actor.
+     *
+     * @param configuration of actor
+     * @param beforeContext is executed in background after browser is started
+     * @param afterStart    is executed in background after page is created
+     */
+    void startBrowserContextAndTabAsync(Configuration configuration, Runnable beforeContext, Runnable afterStart) {
+        awaitStartup();
+        Object driverKey = PlaywrightPool.scopeKey(configuration.getDriverScope(), this);
+        this.startup = startupExecutor.submit(() -> {
+            this.startupThread = Thread.currentThread();
+            try {
+                startBrowserOnly(configuration, driverKey);
+                beforeContext.run();
+                createContextWithTab(configuration);
+                afterStart.run();
+            } finally {
+                this.startupThread = null;
+            }
+        });
+    }
+
+    /**
+     * Waits till browser started by 'startBrowserContextAndTabAsync' is ready, rethrows exception of start.
+     */
+    void awaitStartup() {
+        Future<?> pending = this.startup;
+        if (pending == null || Thread.currentThread() == this.startupThread) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while browser was starting.", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Browser was not started.", e.getCause());
+        } finally {
+            if (pending.isDone()) {
+                this.startup = null;
+            }
+        }
     }
 
     void createContextWithTab(Configuration configuration) {
-        setBrowserContext(getBrowser().newContext(configuration.getContextOptions()));
-        setPage(getBrowserContext().newPage());
-        getPage().setDefaultNavigationTimeout(configuration.getDefaultNavigationTimeout());
-        getPage().setDefaultTimeout(configuration.getDefaultTimeout());
+        // context options could be changed after browser was started.
+        ConfigurationSnapshot contextSnapshot = configuration.snapshot();
+        this.snapshot = contextSnapshot;
+        BrowserContext context = this.metrics.time(LifecycleStage.CONTEXT_CREATION, () -> {
+            BrowserContext recycled = configuration.getWithContextRecycling() ?
+                    this.contextRecycler.take(contextSnapshot) : null;
+            if (recycled != null) {
+                return recycled;
+            }
+            BrowserContext created = getBrowser().newContext(contextSnapshot.contextOptions());
+            this.contextRecycler.register(created, contextSnapshot);
+            return created;
+        });
+        setBrowserContext(trackContext(context));
+        RequestBlocker.apply(context, configuration);
+        // recycled context can already have warm pages.
+        setPage(trackPage(this.metrics.time(LifecycleStage.PAGE_CREATION, () -> {
+            Page warmPage = this.pagePool.take(context, configuration);
+            return warmPage != null ? warmPage : PagePool.applyTimeouts(context.newPage(), configuration);
+        })));
+        this.pagePool.refill(context, configuration);
+    }
+
+    void openNewTab(Configuration configuration) {
+        setPage(trackPage(this.metrics.time(LifecycleStage.PAGE_CREATION, () -> {
+            Page warmPage = this.pagePool.take(getBrowserContext(), configuration);
+            if (warmPage != null) {
+                warmPage.bringToFront();
+                return warmPage;
+            }
+            return PagePool.applyTimeouts(getBrowserContext().newPage(), configuration);
+        })));
+        // taken page is replaced, so every 'openNewTab()' gets warm page, not only the first ones.
+        this.pagePool.refill(getBrowserContext(), configuration);
+    }
+
+    void closeCurrentTab(Configuration configuration) {
+        BrowserContext context = getPage().context();
+        LeakDetector.untrack(getPage());
+        getPage().close();
+        // pool is refilled after tab is closed, so 'openNewTab()' stays instant.
+        this.pagePool.refill(context, configuration);
+    }
+
+    void closeCurrentContext(Configuration configuration) {
+        LeakDetector.untrack(getBrowserContext());
+        if (configuration.getWithContextRecycling()) {
+            this.contextRecycler.recycle(getBrowserContext());
+        } else {
+            getBrowserContext().close();
+        }
+    }
+
+    private BrowserContext trackContext(BrowserContext context) {
+        if (LeakDetector.isEnabled()) {
+            LeakDetector.track(context, LeakDetector.Kind.CONTEXT, this, context::close);
+            context.onClose(LeakDetector::untrack);
+        }
+        return context;
+    }
+
+    private Page trackPage(Page page) {
+        if (LeakDetector.isEnabled()) {
+            LeakDetector.track(page, LeakDetector.Kind.PAGE, this, page::close);
+            page.onClose(LeakDetector::untrack);
+        }
+        return page;
+    }
+
+    /**
+     * Pages of current context without warm pages from pool.
+     *
+     * @return List of Page
+     */
+    List<Page> getActivePages() {
+        return getPage().context().pages().stream()
+                .filter(page -> !this.pagePool.isPooled(page))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Contexts of browser without idle contexts which wait for recycling.
+     *
+     * @return List of BrowserContext
+     */
+    List<BrowserContext> getActiveContexts() {
+        return getBrowser().contexts().stream()
+                .filter(context -> !this.contextRecycler.isIdle(context))
+                .collect(Collectors.toList());
     }
 
 }
@@ -0,0 +1,258 @@
+package io.github.dantegrek.jplay;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of warm browsers per browser name and launch options. Browsers are launched in background,
+ * actor leases idle one on 'startBrowser()' and returns it on 'closeBrowser()'.
+ * Each pooled browser has own playwright driver, because playwright objects can not be used by
+ * two threads at the same time.
+ */
+public final class BrowserPool {
+
+    private static final Map<String, Deque<PooledBrowser>> idleBrowsers = new HashMap<>();
+    private static final Map<String, Integer> pendingLaunches = new HashMap<>();
+    private static final AtomicLong leases = new AtomicLong();
+    private static final AtomicLong waits = new AtomicLong();
+    private static final AtomicLong launches = new AtomicLong();
+    private static final AtomicLong failedLaunches = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+    private static volatile int poolSize = 2;
+    private static volatile Duration maxIdleTime = Duration.ofMinutes(5);
+    private static final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "jplay-browser-pool-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    static {
+        executor.scheduleWithFixedDelay(BrowserPool::evictIdleBrowsers, 1, 1, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserPool::closeIdleBrowsers, "jplay-browser-pool-shutdown"));
+    }
+
+    private BrowserPool() {
+    }
+
+    /**
+     * Browser with own driver which is kept in pool.
+     */
+    static final class PooledBrowser {
+        private final String key;
+        private final Playwright playwright;
+        private final Browser browser;
+        private long idleSince;
+
+        private PooledBrowser(String key, Playwright playwright, Browser browser) {
+            this.key = key;
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        Browser getBrowser() {
+            return this.browser;
+        }
+
+        private void close() {
+            try {
+                this.browser.close();
+            } finally {
+                this.playwright.close();
+            }
+        }
+    }
+
+    // Settings
+
+    /**
+     * Sets amount of idle browsers pool keeps warm for each browser name and launch options.
+     *
+     * @param size 2 by default, 0 disables background launches.
+     */
+    public static void withPoolSize(int size) {
+        if (size < 0) {
+            throw new RuntimeException("Pool size can not be negative.");
+        }
+        poolSize = size;
+    }
+
+    /**
+     * Sets time after which idle browser is closed.
+     *
+     * @param idleTime 5 minutes by default.
+     */
+    public static void withMaxIdleTime(Duration idleTime) {
+        maxIdleTime = idleTime;
+    }
+
+    /**
+     * Snapshot of pool counters to size pool for parallel runners.
+     *
+     * @return instance of BrowserPoolMetrics
+     */
+    public static BrowserPoolMetrics metrics() {
+        int idle;
+        synchronized (BrowserPool.class) {
+            idle = idleBrowsers.values().stream().mapToInt(Deque::size).sum();
+        }
+        return new BrowserPoolMetrics(leases.get(), waits.get(), launches.get(), failedLaunches.get(),
+                evictions.get(), idle);
+    }
+
+    /**
+     * Closes all idle browsers, browsers leased by actors are closed by actors.
+     */
+    public static void closeIdleBrowsers() {
+        List<PooledBrowser> toClose = new ArrayList<>();
+        synchronized (BrowserPool.class) {
+            idleBrowsers.values().forEach(toClose::addAll);
+            idleBrowsers.clear();
+        }
+        toClose.forEach(BrowserPool::closeQuietly);
+    }
+
+    // Lease
+
+    /**
+     * Launches browsers in background till pool has poolSize idle browsers for those options.
+     *
+     * @param snapshot of configuration with browser name and launch options
+     */
+    static void warmUp(ConfigurationSnapshot snapshot) {
+        String key = snapshot.getBrowserFingerprint();
+        int toLaunch;
+        synchronized (BrowserPool.class) {
+            int idle = idleBrowsers.getOrDefault(key, new ArrayDeque<>()).size();
+            int pending = pendingLaunches.getOrDefault(key, 0);
+            toLaunch = Math.max(0, poolSize - idle - pending);
+            pendingLaunches.put(key, pending + toLaunch);
+        }
+        for (int i = 0; i < toLaunch; i++) {
+            executor.execute(() -> launchInBackground(key, snapshot));
+        }
+    }
+
+    private static void launchInBackground(String key, ConfigurationSnapshot snapshot) {
+        PooledBrowser pooled = null;
+        try {
+            pooled = launch(key, snapshot);
+        } catch (RuntimeException e) {
+            failedLaunches.incrementAndGet();
+        } finally {
+            synchronized (BrowserPool.class) {
+                pendingLaunches.merge(key, -1, Integer::sum);
+                if (pooled != null) {
+                    pooled.idleSince = System.nanoTime();
+                    idleBrowsers.computeIfAbsent(key, k -> new ArrayDeque<>()).push(pooled);
+                }
+            }
+        }
+    }
+
+    private static PooledBrowser launch(String key, ConfigurationSnapshot snapshot) {
+        Playwright playwright = Playwright.create();
+        try {
+            Browser browser = BrowserManager.launch(playwright, snapshot.getBrowserName(), snapshot.launchOptions());
+            launches.incrementAndGet();
+            return new PooledBrowser(key, playwright, browser);
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns idle browser or launches new one in current thread when pool is empty.
+     *
+     * @param snapshot of configuration with browser name and launch options
+     * @return instance of PooledBrowser
+     */
+    static PooledBrowser lease(ConfigurationSnapshot snapshot) {
+        String key = snapshot.getBrowserFingerprint();
+        leases.incrementAndGet();
+        PooledBrowser pooled = null;
+        synchronized (BrowserPool.class) {
+            Deque<PooledBrowser> idle = idleBrowsers.get(key);
+            while (idle != null && !idle.isEmpty() && pooled == null) {
+                PooledBrowser candidate = idle.pop();
+                if (candidate.browser.isConnected()) {
+                    pooled = candidate;
+                } else {
+                    executor.execute(() -> closeQuietly(candidate));
+                }
+            }
+        }
+        if (pooled == null) {
+            waits.incrementAndGet();
+            pooled = launch(key, snapshot);
+        }
+        warmUp(snapshot);
+        return pooled;
+    }
+
+    /**
+     * Closes all contexts of browser and puts it back to pool.
+     *
+     * @param pooled leased browser
+     */
+    static void giveBack(PooledBrowser pooled) {
+        boolean isReusable = pooled.browser.isConnected();
+        if (isReusable) {
+            try {
+                new ArrayList<>(pooled.browser.contexts()).forEach(BrowserContext::close);
+            } catch (RuntimeException e) {
+                isReusable = false;
+            }
+        }
+        synchronized (BrowserPool.class) {
+            Deque<PooledBrowser> idle = idleBrowsers.computeIfAbsent(pooled.key, k -> new ArrayDeque<>());
+            if (isReusable && idle.size() < Math.max(poolSize, 1)) {
+                pooled.idleSince = System.nanoTime();
+                idle.push(pooled);
+                return;
+            }
+        }
+        closeQuietly(pooled);
+    }
+
+    private static void evictIdleBrowsers() {
+        long now = System.nanoTime();
+        List<PooledBrowser> expired = new ArrayList<>();
+        synchronized (BrowserPool.class) {
+            for (Deque<PooledBrowser> idle : idleBrowsers.values()) {
+                idle.removeIf(pooled -> {
+                    boolean isExpired = now - pooled.idleSince > maxIdleTime.toNanos();
+                    if (isExpired) {
+                        expired.add(pooled);
+                    }
+                    return isExpired;
+                });
+            }
+        }
+        evictions.addAndGet(expired.size());
+        expired.forEach(BrowserPool::closeQuietly);
+    }
+
+    private static void closeQuietly(PooledBrowser pooled) {
+        try {
+            pooled.close();
+        } catch (RuntimeException ignored) {
+            // browser or driver is already closed.
+        }
+    }
+}
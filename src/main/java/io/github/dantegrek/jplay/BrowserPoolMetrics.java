@@ -0,0 +1,83 @@
+package io.github.dantegrek.jplay;
+
+/**
+ * Snapshot of BrowserPool counters.
+ */
+public final class BrowserPoolMetrics {
+
+    private final long leases;
+    private final long waits;
+    private final long launches;
+    private final long failedLaunches;
+    private final long evictions;
+    private final int idle;
+
+    BrowserPoolMetrics(long leases, long waits, long launches, long failedLaunches, long evictions, int idle) {
+        this.leases = leases;
+        this.waits = waits;
+        this.launches = launches;
+        this.failedLaunches = failedLaunches;
+        this.evictions = evictions;
+        this.idle = idle;
+    }
+
+    /**
+     * Amount of browsers actors leased from pool.
+     *
+     * @return long
+     */
+    public long getLeases() {
+        return this.leases;
+    }
+
+    /**
+     * Amount of leases which did not find warm browser and waited till browser was launched.
+     *
+     * @return long
+     */
+    public long getWaits() {
+        return this.waits;
+    }
+
+    /**
+     * Amount of launched browsers, in background and on wait.
+     *
+     * @return long
+     */
+    public long getLaunches() {
+        return this.launches;
+    }
+
+    /**
+     * Amount of background launches which failed.
+     *
+     * @return long
+     */
+    public long getFailedLaunches() {
+        return this.failedLaunches;
+    }
+
+    /**
+     * Amount of browsers closed because they were idle longer than max idle time.
+     *
+     * @return long
+     */
+    public long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * Amount of warm browsers in pool at the moment of snapshot.
+     *
+     * @return int
+     */
+    public int getIdle() {
+        return this.idle;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BrowserPoolMetrics{leases=%d, waits=%d, launches=%d, failedLaunches=%d, evictions=%d, idle=%d}",
+                leases, waits, launches, failedLaunches, evictions, idle);
+    }
+}
@@ -0,0 +1,265 @@
+package io.github.dantegrek.jplay;
+
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.CLI;
+import io.github.dantegrek.enums.BrowserName;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Browser process started by playwright cli 'launch-server', actors connect to it over local websocket.
+ * Cli is started through its public entry point 'com.microsoft.playwright.CLI' in child JVM with classpath of current
+ * JVM, so driver is unpacked by playwright itself and internal driver classes are not used. Child JVM outlives JVM
+ * which launched it and stops server itself when no JVM is registered in registry for idle timeout.
+ * Output of server goes to log file, so server does not depend on pipes of process which started it.
+ */
+final class BrowserServer {
+
+    private static final long POLL_INTERVAL = 50;
+
+    private final long pid;
+    private final String wsEndpoint;
+
+    BrowserServer(long pid, String wsEndpoint) {
+        this.pid = pid;
+        this.wsEndpoint = wsEndpoint;
+    }
+
+    long getPid() {
+        return this.pid;
+    }
+
+    String getWsEndpoint() {
+        return this.wsEndpoint;
+    }
+
+    boolean isAlive() {
+        return isAlive(this.pid);
+    }
+
+    /**
+     * Stops server, browser is closed by node process of server on SIGTERM.
+     */
+    void close() {
+        Optional<ProcessHandle> process = ProcessHandle.of(this.pid);
+        if (process.isEmpty()) {
+            return;
+        }
+        // JVM of cli and cli script do not forward signals, so node process is signaled directly.
+        List<ProcessHandle> processes = new ArrayList<>();
+        process.get().descendants().forEach(processes::add);
+        processes.add(process.get());
+        processes.forEach(ProcessHandle::destroy);
+        for (ProcessHandle handle : processes) {
+            try {
+                handle.onExit().get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                handle.destroyForcibly();
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    static boolean isAlive(long pid) {
+        return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    /**
+     * Entry point of child JVM which runs browser server, server is stopped when it is idle.
+     *
+     * @param args registry directory, key of server, idle timeout in milliseconds and arguments of cli
+     * @throws Exception if cli can not be started
+     */
+    public static void main(String[] args) throws Exception {
+        Path registryDir = Paths.get(args[0]);
+        String key = args[1];
+        long idleTimeout = Long.parseLong(args[2]);
+        Thread watchdog = new Thread(() -> {
+            try {
+                LocalBrowserServers.awaitIdle(registryDir, key, idleTimeout);
+            } finally {
+                stopChildren();
+            }
+        }, "jplay-browser-server-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        // cli exits JVM when node process of server exits.
+        CLI.main(Arrays.copyOfRange(args, 3, args.length));
+    }
+
+    private static void stopChildren() {
+        List<ProcessHandle> processes = new ArrayList<>();
+        ProcessHandle.current().descendants().forEach(processes::add);
+        processes.forEach(ProcessHandle::destroy);
+        for (ProcessHandle handle : processes) {
+            try {
+                handle.onExit().get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                handle.destroyForcibly();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Launches browser server and waits till it prints its ws endpoint.
+     *
+     * @param browserName   name of browser
+     * @param launchOptions options from configuration
+     * @param log           file stdout and stderr of server are written to
+     * @return instance of BrowserServer
+     */
+    static BrowserServer launch(BrowserName browserName, BrowserType.LaunchOptions launchOptions, Path log) {
+        return launch(browserName, launchOptions, log, Collections.singletonList(CLI.class.getName()));
+    }
+
+    /**
+     * Launches browser server which outlives current JVM and stops itself when it is idle.
+     *
+     * @param browserName   name of browser
+     * @param launchOptions options from configuration
+     * @param registryDir   directory with registered JVMs, server is stopped when none is registered
+     * @param key           of server in registry
+     * @param idleTimeout   time server waits for next JVM after the last one left
+     * @return instance of BrowserServer
+     */
+    static BrowserServer launch(BrowserName browserName, BrowserType.LaunchOptions launchOptions, Path registryDir,
+                                String key, Duration idleTimeout) {
+        return launch(browserName, launchOptions, registryDir.resolve(key + ".log"), Arrays.asList(
+                BrowserServer.class.getName(), registryDir.toAbsolutePath().toString(), key,
+                String.valueOf(idleTimeout.toMillis())));
+    }
+
+    private static BrowserServer launch(BrowserName browserName, BrowserType.LaunchOptions launchOptions, Path log,
+                                        List<String> mainClassWithArgs) {
+        Path config = null;
+        Process process = null;
+        try {
+            config = Files.createTempFile("jplay-browser-server", ".json");
+            Files.write(config, serverOptions(browserName, launchOptions).toString().getBytes(StandardCharsets.UTF_8));
+            Files.deleteIfExists(log);
+            List<String> command = new ArrayList<>(Arrays.asList(javaExecutable(), "-cp",
+                    System.getProperty("java.class.path")));
+            command.addAll(mainClassWithArgs);
+            command.addAll(Arrays.asList("launch-server", serverBrowserType(browserName), config.toString()));
+            ProcessBuilder processBuilder = new ProcessBuilder(command);
+            processBuilder.redirectErrorStream(true);
+            processBuilder.redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()));
+            processBuilder.environment().put("PW_CLI_TARGET_LANG", "java");
+            process = processBuilder.start();
+            double timeout = launchOptions.timeout != null && launchOptions.timeout > 0 ? launchOptions.timeout : 30000;
+            return new BrowserServer(process.pid(), readEndpoint(process, log, (long) timeout));
+        } catch (IOException | RuntimeException e) {
+            if (process != null) {
+                process.destroyForcibly();
+            }
+            throw new RuntimeException("Can not launch browser server '" + browserName.name + "', see " + log, e);
+        } finally {
+            if (config != null) {
+                config.toFile().delete();
+            }
+        }
+    }
+
+    private static String javaExecutable() {
+        return ProcessHandle.current().info().command()
+                .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    }
+
+    /**
+     * Connects to browser server.
+     *
+     * @param playwright    driver of current thread
+     * @param browserName   name of browser
+     * @param wsEndpoint    of server
+     * @param launchOptions options from configuration, slow mo and timeout are applied on connection
+     * @return instance of Browser, closing it only disconnects actor and closes its contexts.
+     */
+    static Browser connect(Playwright playwright, BrowserName browserName, String wsEndpoint,
+                           BrowserType.LaunchOptions launchOptions) {
+        BrowserType.ConnectOptions connectOptions = new BrowserType.ConnectOptions();
+        // slow mo is applied by client, server does not know about it.
+        if (launchOptions.slowMo != null) {
+            connectOptions.setSlowMo(launchOptions.slowMo);
+        }
+        if (launchOptions.timeout != null) {
+            connectOptions.setTimeout(launchOptions.timeout);
+        }
+        return browserType(playwright, browserName).connect(wsEndpoint, connectOptions);
+    }
+
+    private static BrowserType browserType(Playwright playwright, BrowserName browserName) {
+        switch (browserName) {
+            case WEBKIT:
+                return playwright.webkit();
+            case FIREFOX:
+                return playwright.firefox();
+            default:
+                return playwright.chromium();
+        }
+    }
+
+    private static String serverBrowserType(BrowserName browserName) {
+        switch (browserName) {
+            case WEBKIT:
+            case FIREFOX:
+                return browserName.name;
+            default:
+                return BrowserName.CHROMIUM.name;
+        }
+    }
+
+    private static JsonObject serverOptions(BrowserName browserName, BrowserType.LaunchOptions launchOptions) {
+        JsonObject options = PlaywrightOptions.toJson(launchOptions);
+        options.remove("slowMo");
+        if (options.has("ignoreAllDefaultArgs")) {
+            // node api has one option for both cases.
+            if (options.remove("ignoreAllDefaultArgs").getAsBoolean()) {
+                options.addProperty("ignoreDefaultArgs", true);
+            }
+        }
+        if (browserName == BrowserName.CHROME || browserName == BrowserName.MSEDGE) {
+            options.addProperty("channel", browserName.name);
+        }
+        return options;
+    }
+
+    // Server prints only ws endpoint to stdout.
+    private static String readEndpoint(Process process, Path log, long timeout) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (System.nanoTime() < deadline) {
+            List<String> lines = Files.readAllLines(log, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                if (line.startsWith("ws://")) {
+                    return line.trim();
+                }
+            }
+            if (!process.isAlive()) {
+                throw new RuntimeException("Browser server exited with code " + process.exitValue() + ".");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while browser server was launching.", e);
+            }
+        }
+        throw new RuntimeException("Browser server did not start in " + timeout + "ms.");
+    }
+}
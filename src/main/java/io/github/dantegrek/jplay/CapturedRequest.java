@@ -0,0 +1,171 @@
+package io.github.dantegrek.jplay;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Metadata of one request recorded by NetworkCapture. Fields of response are filled when response comes,
+ * duration and body size when request is finished.
+ */
+public final class CapturedRequest {
+
+    private final String url;
+    private final String method;
+    private final String resourceType;
+    private final long startTime;
+    private final int requestBodySize;
+    private final String requestBody;
+    private volatile int status;
+    private volatile String failure;
+    private volatile long responseBodySize = -1;
+    private volatile String responseBody;
+    private volatile Duration duration;
+
+    CapturedRequest(String url, String method, String resourceType, long startTime, byte[] requestBody,
+                    int maxBodySize) {
+        this.url = url;
+        this.method = method;
+        this.resourceType = resourceType;
+        this.startTime = startTime;
+        this.requestBodySize = requestBody == null ? 0 : requestBody.length;
+        this.requestBody = truncate(requestBody, maxBodySize);
+    }
+
+    static String truncate(byte[] body, int maxBodySize) {
+        if (body == null || maxBodySize == 0) {
+            return null;
+        }
+        return new String(body, 0, Math.min(body.length, maxBodySize), StandardCharsets.UTF_8);
+    }
+
+    void responded(int status, long bodySize) {
+        this.status = status;
+        this.responseBodySize = bodySize;
+    }
+
+    void finished(Duration duration, long bodySize, String body) {
+        this.duration = duration;
+        if (bodySize >= 0) {
+            this.responseBodySize = bodySize;
+        }
+        this.responseBody = body;
+    }
+
+    void failed(String failure, Duration duration) {
+        this.failure = failure;
+        this.duration = duration;
+    }
+
+    /**
+     * Getter
+     *
+     * @return url of request.
+     */
+    public String getUrl() {
+        return this.url;
+    }
+
+    /**
+     * Getter
+     *
+     * @return REST method of request.
+     */
+    public String getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Getter
+     *
+     * @return resource type of request, e.g. document, xhr or script.
+     */
+    public String getResourceType() {
+        return this.resourceType;
+    }
+
+    /**
+     * Getter
+     *
+     * @return time request was sent in milliseconds since epoch.
+     */
+    public long getStartTime() {
+        return this.startTime;
+    }
+
+    /**
+     * Getter
+     *
+     * @return status of response, 0 if response did not come yet or request failed.
+     */
+    public int getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Getter
+     *
+     * @return error text of failed request or null.
+     */
+    public String getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Getter
+     *
+     * @return time from request till end of response or failure, null if request is not finished yet.
+     */
+    public Duration getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * Getter
+     *
+     * @return size of request body in bytes.
+     */
+    public int getRequestBodySize() {
+        return this.requestBodySize;
+    }
+
+    /**
+     * Getter
+     *
+     * @return size of response body in bytes, -1 if it is not known.
+     */
+    public long getResponseBodySize() {
+        return this.responseBodySize;
+    }
+
+    /**
+     * Getter
+     *
+     * @return request body truncated to max body size of capture or null.
+     */
+    public String getRequestBody() {
+        return this.requestBody;
+    }
+
+    /**
+     * Getter
+     *
+     * @return response body truncated to max body size of capture or null.
+     */
+    public String getResponseBody() {
+        return this.responseBody;
+    }
+
+    /**
+     * Checks if response came or request failed.
+     *
+     * @return boolean
+     */
+    public boolean isFinished() {
+        return this.duration != null;
+    }
+
+    @Override
+    public String toString() {
+        return this.method + " " + this.url + " " + (this.failure != null ? this.failure : this.status);
+    }
+}
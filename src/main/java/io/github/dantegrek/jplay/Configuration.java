@@ -3,12 +3,19 @@ package io.github.dantegrek.jplay;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.*;
 import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.DriverScope;
+import io.github.dantegrek.enums.ResourceType;
 import io.github.dantegrek.interfaces.Device;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration class is responsible for collecting launch and context options.
@@ -19,17 +26,58 @@ public final class Configuration implements IBrowserConfiguration, IContextConfi
     private BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions();
     private Browser.NewContextOptions contextOptions = new Browser.NewContextOptions();
     private BrowserName browserName = BrowserName.CHROMIUM;
+    private DriverScope driverScope = DriverScope.THREAD;
+    private boolean withBrowserPool;
+    private boolean withSharedBrowser;
+    private boolean withLocalBrowserServer;
     private double defaultNavigationTimeout = 20000;
     private double defaultWaitTimeout = 20000;
     private double exceptTimeout = 5000;
     private boolean withTrace;
+    private boolean withContextRecycling;
+    private int pagePoolSize;
+    private String storageStateKey;
+    private Task loginTask;
     private Path traceDir = Paths.get("target", "traces");
     private String traceNamePrefix;
+    private final Set<ResourceType> blockedResourceTypes = EnumSet.noneOf(ResourceType.class);
+    private final List<String> blockedHosts = new ArrayList<>();
+    private final List<String> blockedUrls = new ArrayList<>();
 
     Configuration(Actor actor) {
         this.actor = actor;
     }
 
+    /**
+     * Copy of template for actor, template is not changed by later configuration of actor.
+     *
+     * @param actor    owner of configuration
+     * @param template configuration to copy, e.g. profile
+     */
+    Configuration(Actor actor, Configuration template) {
+        this.actor = actor;
+        this.launchOptions = PlaywrightOptions.copy(template.launchOptions);
+        this.contextOptions = PlaywrightOptions.copy(template.contextOptions);
+        this.browserName = template.browserName;
+        this.driverScope = template.driverScope;
+        this.withBrowserPool = template.withBrowserPool;
+        this.withSharedBrowser = template.withSharedBrowser;
+        this.withLocalBrowserServer = template.withLocalBrowserServer;
+        this.defaultNavigationTimeout = template.defaultNavigationTimeout;
+        this.defaultWaitTimeout = template.defaultWaitTimeout;
+        this.exceptTimeout = template.exceptTimeout;
+        this.withTrace = template.withTrace;
+        this.withContextRecycling = template.withContextRecycling;
+        this.pagePoolSize = template.pagePoolSize;
+        this.storageStateKey = template.storageStateKey;
+        this.loginTask = template.loginTask;
+        this.traceDir = template.traceDir;
+        this.traceNamePrefix = template.traceNamePrefix;
+        this.blockedResourceTypes.addAll(template.blockedResourceTypes);
+        this.blockedHosts.addAll(template.blockedHosts);
+        this.blockedUrls.addAll(template.blockedUrls);
+    }
+
     /**
      * Getter
      *
@@ -57,6 +105,42 @@ public final class Configuration implements IBrowserConfiguration, IContextConfi
         return this.browserName;
     }
 
+    /**
+     * Getter
+     *
+     * @return scope in which playwright driver is shared.
+     */
+    DriverScope getDriverScope() {
+        return this.driverScope;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if browser should be leased from BrowserPool.
+     */
+    boolean getWithBrowserPool() {
+        return this.withBrowserPool;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if actor connects to browser shared by all actors of JVM.
+     */
+    boolean getWithSharedBrowser() {
+        return this.withSharedBrowser;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if actor connects to browser server shared by all JVMs on machine.
+     */
+    boolean getWithLocalBrowserServer() {
+        return this.withLocalBrowserServer;
+    }
+
     /**
      * Getter
      *
@@ -110,6 +194,30 @@ public final class Configuration implements IBrowserConfiguration, IContextConfi
         return this;
     }
 
+    @Override
+    public IBrowserConfiguration withDriverScope(DriverScope driverScope) {
+        this.driverScope = driverScope;
+        return this;
+    }
+
+    @Override
+    public IBrowserConfiguration withBrowserPool(boolean withBrowserPool) {
+        this.withBrowserPool = withBrowserPool;
+        return this;
+    }
+
+    @Override
+    public IBrowserConfiguration withSharedBrowser(boolean withSharedBrowser) {
+        this.withSharedBrowser = withSharedBrowser;
+        return this;
+    }
+
+    @Override
+    public IBrowserConfiguration withLocalBrowserServer(boolean withLocalBrowserServer) {
+        this.withLocalBrowserServer = withLocalBrowserServer;
+        return this;
+    }
+
     @Override
     public IContextConfiguration withDevice(Device device) {
         this.contextOptions.setUserAgent(device.getUserAgent());
@@ -223,6 +331,118 @@ public final class Configuration implements IBrowserConfiguration, IContextConfi
         return this;
     }
 
+    @Override
+    public IContextConfiguration withContextRecycling(boolean withContextRecycling) {
+        this.withContextRecycling = withContextRecycling;
+        return this;
+    }
+
+    /**
+     * Returns true if closed contexts should be reset and reused.
+     *
+     * @return boolean
+     */
+    boolean getWithContextRecycling() {
+        return this.withContextRecycling;
+    }
+
+    @Override
+    public IContextConfiguration withPagePoolSize(int pagePoolSize) {
+        if (pagePoolSize < 0) {
+            throw new RuntimeException("Page pool size can not be negative.");
+        }
+        this.pagePoolSize = pagePoolSize;
+        return this;
+    }
+
+    /**
+     * Returns amount of blank pages kept warm in each context.
+     *
+     * @return int
+     */
+    int getPagePoolSize() {
+        return this.pagePoolSize;
+    }
+
+    @Override
+    public IContextConfiguration withCachedStorageState(String key, Task login) {
+        this.storageStateKey = key;
+        this.loginTask = login;
+        return this;
+    }
+
+    /**
+     * Getter
+     *
+     * @return key of storage state in StorageStateCache or null.
+     */
+    String getStorageStateKey() {
+        return this.storageStateKey;
+    }
+
+    /**
+     * Getter
+     *
+     * @return task which logs in and produces storage state of key.
+     */
+    Task getLoginTask() {
+        return this.loginTask;
+    }
+
+    @Override
+    public IContextConfiguration withBlockedResourceTypes(ResourceType... resourceTypes) {
+        this.blockedResourceTypes.addAll(Arrays.asList(resourceTypes));
+        return this;
+    }
+
+    @Override
+    public IContextConfiguration withBlockedHosts(String... hosts) {
+        this.blockedHosts.addAll(Arrays.asList(hosts));
+        return this;
+    }
+
+    @Override
+    public IContextConfiguration withBlockedUrls(String... globPatterns) {
+        this.blockedUrls.addAll(Arrays.asList(globPatterns));
+        return this;
+    }
+
+    /**
+     * Getter
+     *
+     * @return resource types blocked in new contexts.
+     */
+    Set<ResourceType> getBlockedResourceTypes() {
+        return Collections.unmodifiableSet(this.blockedResourceTypes);
+    }
+
+    /**
+     * Getter
+     *
+     * @return hosts blocked in new contexts.
+     */
+    List<String> getBlockedHosts() {
+        return Collections.unmodifiableList(this.blockedHosts);
+    }
+
+    /**
+     * Getter
+     *
+     * @return url globs blocked in new contexts.
+     */
+    List<String> getBlockedUrls() {
+        return Collections.unmodifiableList(this.blockedUrls);
+    }
+
+    /**
+     * Freezes current state of configuration, later changes of configuration do not change snapshot.
+     *
+     * @return instance of ConfigurationSnapshot
+     */
+    ConfigurationSnapshot snapshot() {
+        return new ConfigurationSnapshot(this);
+    }
+
     /**
      * Returns true if trace should be recorded.
      *
@@ -0,0 +1,288 @@
+package io.github.dantegrek.jplay;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.DriverScope;
+import io.github.dantegrek.enums.ResourceType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Named configuration profiles, e.g. 'ci' or 'load', which are read once per JVM and parsed into configuration
+ * templates. Actor gets copy of template by 'withProfile(name)', so overrides in test do not change template.
+ * <p>
+ * Profiles are read from classpath resources 'jplay-profiles.properties' and 'jplay-profiles.json',
+ * from file in system property 'jplay.profiles.file' and from environment variables like 'JPLAY_CI_HEADLESS',
+ * later source overrides earlier one. Properties have format 'name.key=value', json is object of profiles.
+ * Supported keys: browser, driverScope, headless, slowMo, browserArgs, viewport (e.g. 1280x720), baseURL,
+ * trace, traceDir, defaultTimeout, defaultNavigationTimeout, expectTimeout, blockedResourceTypes, blockedHosts
+ * and blockedUrls, lists are separated by comma.
+ * Profile in system property 'jplay.profile' is used by all actors by default.
+ */
+public final class ConfigurationProfiles {
+
+    /**
+     * System property with path to properties or json file of profiles.
+     */
+    public static final String FILE_PROPERTY = "jplay.profiles.file";
+    /**
+     * System property with name of profile which is applied to all new configurations.
+     */
+    public static final String DEFAULT_PROFILE_PROPERTY = "jplay.profile";
+
+    private static final String RESOURCE_NAME = "jplay-profiles";
+    private static final String ENV_PREFIX = "JPLAY_";
+    private static final Map<String, Configuration> templates = new ConcurrentHashMap<>();
+    private static volatile Path file = Optional.ofNullable(System.getProperty(FILE_PROPERTY)).map(Paths::get).orElse(null);
+    private static volatile Map<String, Map<String, String>> profiles;
+
+    private ConfigurationProfiles() {
+    }
+
+    // Settings
+
+    /**
+     * Sets file with profiles, profiles are read again on next usage.
+     *
+     * @param path to '.properties' or '.json' file, null reads only classpath and environment.
+     */
+    public static synchronized void withFile(Path path) {
+        file = path;
+        reload();
+    }
+
+    /**
+     * Forgets read profiles and parsed templates, sources are read again on next usage.
+     */
+    public static synchronized void reload() {
+        profiles = null;
+        templates.clear();
+    }
+
+    /**
+     * Names of all known profiles.
+     *
+     * @return Set of String
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(profiles().keySet());
+    }
+
+    // Templates
+
+    /**
+     * Returns name of profile applied to every new configuration.
+     *
+     * @return name or null
+     */
+    static String defaultProfile() {
+        return System.getProperty(DEFAULT_PROFILE_PROPERTY);
+    }
+
+    /**
+     * Parsed configuration of profile, it is shared, so callers must copy it.
+     *
+     * @param name of profile
+     * @return template Configuration
+     */
+    static Configuration template(String name) {
+        Configuration template = templates.get(name);
+        if (template != null) {
+            return template;
+        }
+        Map<String, String> values = profiles().get(name);
+        if (values == null) {
+            throw new RuntimeException(String.format("Profile '%s' does not exist, known profiles: %s.", name, names()));
+        }
+        return templates.computeIfAbsent(name, key -> parse(key, values));
+    }
+
+    private static Configuration parse(String name, Map<String, String> values) {
+        Configuration template = new Configuration(null);
+        values.forEach((key, value) -> {
+            try {
+                apply(template, key, value.trim());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException(String.format("Profile '%s' has invalid value '%s' of '%s'.", name, value, key), e);
+            }
+        });
+        return template;
+    }
+
+    private static void apply(Configuration template, String key, String value) {
+        switch (normalize(key)) {
+            case "browser":
+                template.withBrowser(Arrays.stream(BrowserName.values())
+                        .filter(browserName -> browserName.name.equalsIgnoreCase(value) || browserName.name().equalsIgnoreCase(value))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown browser.")));
+                break;
+            case "driverscope":
+                template.withDriverScope(DriverScope.valueOf(value.toUpperCase()));
+                break;
+            case "headless":
+                template.withHeadless(Boolean.parseBoolean(value));
+                break;
+            case "slowmo":
+                template.withSlowMo(Double.parseDouble(value));
+                break;
+            case "browserargs":
+                template.withBrowserArgs(list(value));
+                break;
+            case "viewport":
+                String[] size = value.toLowerCase().split("x");
+                if (size.length != 2) {
+                    throw new IllegalArgumentException("Viewport should have format WIDTHxHEIGHT.");
+                }
+                template.withViewportSize(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+                break;
+            case "baseurl":
+                template.withBaseURL(value);
+                break;
+            case "trace":
+                template.withTrace(Boolean.parseBoolean(value));
+                break;
+            case "tracedir":
+                template.withTraceDir(Paths.get(value));
+                break;
+            case "defaulttimeout":
+                template.withDefaultTimeout(Double.parseDouble(value));
+                break;
+            case "defaultnavigationtimeout":
+                template.withDefaultNavigationTimeout(Double.parseDouble(value));
+                break;
+            case "expecttimeout":
+                template.withExpectTimeout(Double.parseDouble(value));
+                break;
+            case "blockedresourcetypes":
+                template.withBlockedResourceTypes(list(value).stream()
+                        .map(type -> ResourceType.valueOf(type.toUpperCase()))
+                        .toArray(ResourceType[]::new));
+                break;
+            case "blockedhosts":
+                template.withBlockedHosts(list(value).toArray(new String[0]));
+                break;
+            case "blockedurls":
+                template.withBlockedUrls(list(value).toArray(new String[0]));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown key.");
+        }
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    // Keys from properties, json and environment are stored without case, dots and underscores.
+    private static String normalize(String key) {
+        return key.replace("_", "").replace(".", "").toLowerCase();
+    }
+
+    // Sources
+
+    private static Map<String, Map<String, String>> profiles() {
+        Map<String, Map<String, String>> loaded = profiles;
+        if (loaded == null) {
+            synchronized (ConfigurationProfiles.class) {
+                loaded = profiles;
+                if (loaded == null) {
+                    loaded = load();
+                    profiles = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static Map<String, Map<String, String>> load() {
+        Map<String, Map<String, String>> loaded = new TreeMap<>();
+        ClassLoader classLoader = ConfigurationProfiles.class.getClassLoader();
+        readResource(classLoader, RESOURCE_NAME + ".properties", loaded);
+        readResource(classLoader, RESOURCE_NAME + ".json", loaded);
+        Path path = file;
+        if (path != null) {
+            try (InputStream stream = Files.newInputStream(path)) {
+                read(path.toString(), stream, loaded);
+            } catch (IOException e) {
+                throw new RuntimeException("Can not read profiles from '" + path + "'.", e);
+            }
+        }
+        readEnvironment(System.getenv(), loaded);
+        Map<String, Map<String, String>> result = new TreeMap<>();
+        loaded.forEach((name, values) -> result.put(name, Collections.unmodifiableMap(values)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void readResource(ClassLoader classLoader, String resource, Map<String, Map<String, String>> loaded) {
+        try (InputStream stream = classLoader.getResourceAsStream(resource)) {
+            if (stream != null) {
+                read(resource, stream, loaded);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Can not read profiles from '" + resource + "'.", e);
+        }
+    }
+
+    private static void read(String source, InputStream stream, Map<String, Map<String, String>> loaded) throws IOException {
+        Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+        if (source.endsWith(".json")) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            json.entrySet().forEach(profile -> profile.getValue().getAsJsonObject().entrySet()
+                    .forEach(entry -> put(loaded, profile.getKey(), entry.getKey(), asString(entry.getValue()))));
+        } else {
+            Properties properties = new Properties();
+            properties.load(reader);
+            for (String property : properties.stringPropertyNames()) {
+                int dot = property.indexOf('.');
+                if (dot <= 0) {
+                    throw new RuntimeException(String.format("Property '%s' in '%s' should have format 'profile.key'.",
+                            property, source));
+                }
+                put(loaded, property.substring(0, dot), property.substring(dot + 1), properties.getProperty(property));
+            }
+        }
+    }
+
+    private static String asString(JsonElement value) {
+        if (value.isJsonArray()) {
+            return StreamSupport.stream(value.getAsJsonArray().spliterator(), false)
+                    .map(JsonElement::getAsString)
+                    .collect(Collectors.joining(","));
+        }
+        return value.getAsString();
+    }
+
+    // JPLAY_CI_DEFAULT_TIMEOUT=10000 sets 'defaultTimeout' of profile 'ci'.
+    private static void readEnvironment(Map<String, String> environment, Map<String, Map<String, String>> loaded) {
+        environment.forEach((variable, value) -> {
+            if (!variable.startsWith(ENV_PREFIX)) {
+                return;
+            }
+            String[] parts = variable.substring(ENV_PREFIX.length()).split("_", 2);
+            if (parts.length == 2 && !parts[0].isEmpty()) {
+                put(loaded, parts[0].toLowerCase(), parts[1], value);
+            }
+        });
+    }
+
+    private static void put(Map<String, Map<String, String>> loaded, String profile, String key, String value) {
+        loaded.computeIfAbsent(profile, name -> new TreeMap<>()).put(normalize(key), value);
+    }
+}
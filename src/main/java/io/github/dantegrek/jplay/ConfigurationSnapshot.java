@@ -0,0 +1,174 @@
+package io.github.dantegrek.jplay;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.DriverScope;
+
+/**
+ * Immutable copy of configuration taken when browser or context is started. Snapshots with the same fingerprint
+ * want the same browser and context, so pools, caches and recyclers match them by fingerprint.
+ */
+public final class ConfigurationSnapshot {
+
+    private final BrowserName browserName;
+    private final DriverScope driverScope;
+    private final BrowserType.LaunchOptions launchOptions;
+    private final Browser.NewContextOptions contextOptions;
+    private final double defaultNavigationTimeout;
+    private final double defaultTimeout;
+    private final double expectTimeout;
+    private final boolean withTrace;
+    private final String browserFingerprint;
+    private final String contextFingerprint;
+    private final String fingerprint;
+
+    ConfigurationSnapshot(Configuration configuration) {
+        this.browserName = configuration.getBrowserName();
+        this.driverScope = configuration.getDriverScope();
+        this.launchOptions = PlaywrightOptions.copy(configuration.getLaunchOptions());
+        this.contextOptions = PlaywrightOptions.copy(configuration.getContextOptions());
+        this.defaultNavigationTimeout = configuration.getDefaultNavigationTimeout();
+        this.defaultTimeout = configuration.getDefaultTimeout();
+        this.expectTimeout = configuration.getExceptTimeout();
+        this.withTrace = configuration.getWithTrace();
+        // fingerprints are computed once, options can not change anymore.
+        this.browserFingerprint = this.browserName.name + ":" + PlaywrightOptions.fingerprint(this.launchOptions);
+        this.contextFingerprint = PlaywrightOptions.fingerprint(this.contextOptions);
+        this.fingerprint = String.format("%s|%s|%s|%s|%s|%s|%s", this.browserFingerprint, this.contextFingerprint,
+                this.driverScope, this.defaultNavigationTimeout, this.defaultTimeout, this.expectTimeout, this.withTrace);
+    }
+
+    /**
+     * Getter
+     *
+     * @return enum value of browser name.
+     */
+    public BrowserName getBrowserName() {
+        return this.browserName;
+    }
+
+    /**
+     * Getter
+     *
+     * @return scope in which playwright driver is shared.
+     */
+    public DriverScope getDriverScope() {
+        return this.driverScope;
+    }
+
+    /**
+     * Getter
+     *
+     * @return copy of launch options, changes of copy do not change snapshot.
+     */
+    public BrowserType.LaunchOptions getLaunchOptions() {
+        return PlaywrightOptions.copy(this.launchOptions);
+    }
+
+    /**
+     * Getter
+     *
+     * @return copy of context options, changes of copy do not change snapshot.
+     */
+    public Browser.NewContextOptions getContextOptions() {
+        return PlaywrightOptions.copy(this.contextOptions);
+    }
+
+    /**
+     * Launch options without copy, only for reading inside of jplay.
+     *
+     * @return launch options of snapshot
+     */
+    BrowserType.LaunchOptions launchOptions() {
+        return this.launchOptions;
+    }
+
+    /**
+     * Context options without copy, only for reading inside of jplay.
+     *
+     * @return context options of snapshot
+     */
+    Browser.NewContextOptions contextOptions() {
+        return this.contextOptions;
+    }
+
+    /**
+     * Getter
+     *
+     * @return double represents wait in milliseconds.
+     */
+    public double getDefaultNavigationTimeout() {
+        return this.defaultNavigationTimeout;
+    }
+
+    /**
+     * Getter
+     *
+     * @return double represents wait in milliseconds.
+     */
+    public double getDefaultTimeout() {
+        return this.defaultTimeout;
+    }
+
+    /**
+     * Getter
+     *
+     * @return double represents wait in milliseconds.
+     */
+    public double getExpectTimeout() {
+        return this.expectTimeout;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if trace is recorded.
+     */
+    public boolean getWithTrace() {
+        return this.withTrace;
+    }
+
+    /**
+     * Fingerprint of browser name and launch options, browsers with the same fingerprint are interchangeable.
+     *
+     * @return String
+     */
+    public String getBrowserFingerprint() {
+        return this.browserFingerprint;
+    }
+
+    /**
+     * Fingerprint of context options, contexts with the same fingerprint are interchangeable.
+     *
+     * @return String
+     */
+    public String getContextFingerprint() {
+        return this.contextFingerprint;
+    }
+
+    /**
+     * Fingerprint of whole snapshot.
+     *
+     * @return String
+     */
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ConfigurationSnapshot
+                && this.fingerprint.equals(((ConfigurationSnapshot) other).fingerprint);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fingerprint.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationSnapshot{" + this.fingerprint + "}";
+    }
+}
@@ -0,0 +1,256 @@
+package io.github.dantegrek.jplay;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Route;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+
+/**
+ * This class keeps closed by actor contexts of one browser after soft reset,
+ * so next context with the same options is taken from here instead of creating new one.
+ * Origins which frames of context navigate to are recorded, on reset each of them is opened in blank page
+ * and its local storage, IndexedDB, CacheStorage and service workers are cleared. Session storage goes with
+ * closed pages. HTTP cache of context survives reset. Context is closed instead of recycled if storage of any
+ * origin can not be cleared, e.g. browser can not list IndexedDB databases or service worker answered instead of
+ * blank page.
+ */
+final class ContextRecycler {
+
+    private static final String RESET_PATH = "/__jplay_reset__";
+    private static final String RESET_PAGE = "<html data-jplay-reset></html>";
+    private static final String JS_CLEAR_ORIGIN = "async () => {\n" +
+            "  if (!document.documentElement.hasAttribute('data-jplay-reset')) return false;\n" +
+            "  try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}\n" +
+            "  if (navigator.serviceWorker) {\n" +
+            "    for (const registration of await navigator.serviceWorker.getRegistrations()) await registration.unregister();\n" +
+            "  }\n" +
+            "  if (window.caches) {\n" +
+            "    for (const key of await caches.keys()) await caches.delete(key);\n" +
+            "  }\n" +
+            "  if (!window.indexedDB || !indexedDB.databases) return false;\n" +
+            "  for (const database of await indexedDB.databases()) {\n" +
+            "    await new Promise(resolve => {\n" +
+            "      const request = indexedDB.deleteDatabase(database.name);\n" +
+            "      request.onsuccess = request.onerror = request.onblocked = () => resolve();\n" +
+            "    });\n" +
+            "  }\n" +
+            "  return true;\n" +
+            "}";
+
+    private final Map<String, Deque<BrowserContext>> idleContexts = new HashMap<>();
+    private final Map<BrowserContext, ConfigurationSnapshot> snapshots = new IdentityHashMap<>();
+    private final Map<BrowserContext, Map<List<Object>, List<Runnable>>> routes = new IdentityHashMap<>();
+    private final Map<BrowserContext, Set<String>> origins = new IdentityHashMap<>();
+    private final PagePool pagePool;
+
+    ContextRecycler(PagePool pagePool) {
+        this.pagePool = pagePool;
+    }
+
+    /**
+     * Remembers configuration context was created with.
+     *
+     * @param context  created by actor
+     * @param snapshot of configuration context was created with
+     */
+    void register(BrowserContext context, ConfigurationSnapshot snapshot) {
+        if (!this.snapshots.containsKey(context)) {
+            this.snapshots.put(context, snapshot);
+            this.origins.put(context, new LinkedHashSet<>());
+            context.onClose(this::forget);
+            context.onPage(page -> trackOrigins(context, page));
+            context.pages().forEach(page -> trackOrigins(context, page));
+        }
+    }
+
+    private void trackOrigins(BrowserContext context, Page page) {
+        page.onFrameNavigated(frame -> {
+            String origin = origin(frame.url());
+            Set<String> visited = this.origins.get(context);
+            if (origin != null && visited != null) {
+                visited.add(origin);
+            }
+        });
+    }
+
+    // only http origins have storage which outlives pages, about:blank and data urls have none.
+    private static String origin(String url) {
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || !("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))) {
+                return null;
+            }
+            return scheme.toLowerCase() + "://" + uri.getHost().toLowerCase()
+                    + (uri.getPort() < 0 ? "" : ":" + uri.getPort());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Configuration context was created with.
+     *
+     * @param context created by actor
+     * @return instance of ConfigurationSnapshot or null if context was not created by actor
+     */
+    ConfigurationSnapshot snapshotOf(BrowserContext context) {
+        return this.snapshots.get(context);
+    }
+
+    /**
+     * Remembers how to remove route which was put on context or on one of its pages.
+     *
+     * @param context of route
+     * @param route   page or context with url glob or predicate of route
+     * @param unroute removes route
+     */
+    void trackRoute(BrowserContext context, List<Object> route, Runnable unroute) {
+        this.routes.computeIfAbsent(context, key -> new LinkedHashMap<>())
+                .computeIfAbsent(route, key -> new ArrayList<>())
+                .add(unroute);
+    }
+
+    /**
+     * Removes all routes put on page or context for url glob or predicate.
+     *
+     * @param context of route
+     * @param route   page or context with url glob or predicate of route
+     */
+    void removeRoutes(BrowserContext context, List<Object> route) {
+        Map<List<Object>, List<Runnable>> contextRoutes = this.routes.get(context);
+        List<Runnable> unroutes = contextRoutes == null ? null : contextRoutes.remove(route);
+        if (unroutes != null) {
+            unroutes.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Checks if context is waiting for next usage.
+     *
+     * @param context any context of browser
+     * @return boolean
+     */
+    boolean isIdle(BrowserContext context) {
+        return this.idleContexts.values().stream().anyMatch(idle -> idle.contains(context));
+    }
+
+    /**
+     * Returns idle context created with the same options.
+     *
+     * @param snapshot of configuration of new context
+     * @return instance of BrowserContext or null
+     */
+    BrowserContext take(ConfigurationSnapshot snapshot) {
+        Deque<BrowserContext> idle = this.idleContexts.get(snapshot.getContextFingerprint());
+        return idle == null ? null : idle.poll();
+    }
+
+    /**
+     * Resets context and keeps it for next usage, context which can not be reused is closed.
+     *
+     * @param context to recycle
+     */
+    void recycle(BrowserContext context) {
+        ConfigurationSnapshot snapshot = this.snapshots.get(context);
+        if (snapshot == null || !isRecyclable(snapshot.contextOptions()) || !reset(context, snapshot.contextOptions())) {
+            context.close();
+            return;
+        }
+        this.idleContexts.computeIfAbsent(snapshot.getContextFingerprint(), key -> new ArrayDeque<>())
+                .push(context);
+    }
+
+    /**
+     * Forgets all contexts, should be called when browser is closed.
+     */
+    void clear() {
+        this.idleContexts.clear();
+        this.snapshots.clear();
+        this.routes.clear();
+        this.origins.clear();
+    }
+
+    private void forget(BrowserContext context) {
+        this.idleContexts.values().forEach(idle -> idle.remove(context));
+        this.snapshots.remove(context);
+        this.routes.remove(context);
+        this.origins.remove(context);
+    }
+
+    // Video, har and storage state are bound to life of context, such contexts can not be reused.
+    private boolean isRecyclable(Browser.NewContextOptions options) {
+        return options.recordVideoDir == null
+                && options.recordHarPath == null
+                && options.storageState == null
+                && options.storageStatePath == null;
+    }
+
+    private boolean reset(BrowserContext context, Browser.NewContextOptions options) {
+        try {
+            Map<List<Object>, List<Runnable>> unroutes = this.routes.remove(context);
+            if (unroutes != null) {
+                unroutes.values().forEach(route -> route.forEach(ContextRecycler::runQuietly));
+            }
+            for (Page page : new ArrayList<>(context.pages())) {
+                if (this.pagePool.isPooled(page)) {
+                    // warm pages were never used, they stay for next usage of context.
+                    continue;
+                }
+                page.close();
+            }
+            if (!clearOrigins(context)) {
+                return false;
+            }
+            context.clearCookies();
+            context.clearPermissions();
+            if (options.permissions != null) {
+                context.grantPermissions(options.permissions);
+            }
+            context.setGeolocation(options.geolocation);
+            context.setOffline(Boolean.TRUE.equals(options.offline));
+            context.setExtraHTTPHeaders(options.extraHTTPHeaders != null ? options.extraHTTPHeaders : Map.of());
+            return true;
+        } catch (PlaywrightException e) {
+            return false;
+        }
+    }
+
+    // storage can be cleared only by script of its origin, so each visited origin is opened with blank page.
+    private boolean clearOrigins(BrowserContext context) {
+        Set<String> visited = this.origins.get(context);
+        if (visited == null || visited.isEmpty()) {
+            return true;
+        }
+        List<String> toClear = new ArrayList<>(visited);
+        Page page = context.newPage();
+        try {
+            page.route(url -> url.endsWith(RESET_PATH), route -> route.fulfill(new Route.FulfillOptions()
+                    .setContentType("text/html")
+                    .setBody(RESET_PAGE)));
+            for (String origin : toClear) {
+                page.navigate(origin + RESET_PATH);
+                if (!Boolean.TRUE.equals(page.evaluate(JS_CLEAR_ORIGIN))) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            runQuietly(page::close);
+            visited.clear();
+        }
+    }
+
+    private static void runQuietly(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (PlaywrightException ignored) {
+            // page or route is already gone.
+        }
+    }
+}
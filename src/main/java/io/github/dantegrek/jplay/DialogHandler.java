@@ -1,6 +1,7 @@
 package io.github.dantegrek.jplay;
 
 import com.microsoft.playwright.Dialog;
+import com.microsoft.playwright.Page;
 import org.opentest4j.AssertionFailedError;
 
 import java.util.function.Consumer;
@@ -19,6 +20,18 @@ public final class DialogHandler {
         this.actor = actor;
     }
 
+    // Puts handler on current page, handler stays till page is closed unless it removes itself.
+    private Actor addHandler(Consumer<Dialog> handler) {
+        Page page = this.actor.currentPage();
+        page.onDialog(handler);
+        if (LeakDetector.isEnabled()) {
+            LeakDetector.track(handler, LeakDetector.Kind.DIALOG_HANDLER, this.actor.leakOwner(),
+                    () -> page.offDialog(handler));
+            page.onClose(closed -> LeakDetector.untrack(handler));
+        }
+        return this.actor;
+    }
+
     // Common
 
     /**
@@ -27,7 +40,7 @@ public final class DialogHandler {
      * @return instance of Actor
      */
     public Actor acceptOnce() {
-        this.actor.currentPage().onDialog(Dialog::accept);
+        this.actor.currentPage().onceDialog(Dialog::accept);
         return this.actor;
     }
 
@@ -37,8 +50,7 @@ public final class DialogHandler {
      * @return instance of Actor
      */
     public Actor acceptAll() {
-        this.actor.currentPage().onDialog(Dialog::accept);
-        return this.actor;
+        return addHandler(Dialog::accept);
     }
 
     // Confirms
@@ -55,11 +67,11 @@ public final class DialogHandler {
                 if (dialog.type().equals(confirm)) {
                     dialog.accept();
                     actor.currentPage().offDialog(this);
+                    LeakDetector.untrack(this);
                 }
             }
         };
-        this.actor.currentPage().onDialog(handler);
-        return this.actor;
+        return addHandler(handler);
     }
 
     /**
@@ -76,8 +88,7 @@ public final class DialogHandler {
                 }
             }
         };
-        this.actor.currentPage().onDialog(handler);
-        return this.actor;
+        return addHandler(handler);
     }
 
     // Prompts
@@ -94,11 +105,11 @@ public final class DialogHandler {
                 if (dialog.type().equals(prompt)) {
                     dialog.accept();
                     actor.currentPage().offDialog(this);
+                    LeakDetector.untrack(this);
                 }
             }
         };
-        this.actor.currentPage().onDialog(handler);
-        return this.actor;
+        return addHandler(handler);
     }
 
     /**
@@ -114,11 +125,11 @@ public final class DialogHandler {
                 if (dialog.type().equals(prompt)) {
                     dialog.accept(text);
                     actor.currentPage().offDialog(this);
+                    LeakDetector.untrack(this);
                 }
             }
         };
-        this.actor.currentPage().onDialog(handler);
-        return this.actor;
+        return addHandler(handler);
     }
 
     /**
@@ -135,8 +146,7 @@ public final class DialogHandler {
                 }
             }
         };
-        this.actor.currentPage().onDialog(handler);
-        return this.actor;
+        return addHandler(handler);
     }
 
     /**
@@ -154,8 +164,7 @@ public final class DialogHandler {
                 }
             }
         };
-        this.actor.currentPage().onDialog(handler);
-        return this.actor;
+        return addHandler(handler);
     }
 
     // Expects
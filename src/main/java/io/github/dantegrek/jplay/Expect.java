@@ -3,10 +3,13 @@ package io.github.dantegrek.jplay;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.assertions.LocatorAssertions;
 import com.microsoft.playwright.assertions.PageAssertions;
+import io.github.dantegrek.enums.RestMethod;
 import org.opentest4j.AssertionFailedError;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -16,7 +19,9 @@ import static io.github.dantegrek.jplay.JsStrings.JS_PSEUDO_ELEMENT_PROPERTY;
 /**
  * This class represents JS style asserts.
  */
-public final class Expect implements ILocatorExpect, IPageExpect {
+public final class Expect implements ILocatorExpect, IPageExpect, IRouteExpect, INetworkExpect {
+
+    private static final int POLL_INTERVAL = 20;
 
     private Actor actor;
     private double timeout = 5000;
@@ -25,6 +30,11 @@ public final class Expect implements ILocatorExpect, IPageExpect {
     private Locator locator;
     private LocatorAssertions locatorAssertions;
     private PageAssertions pageAssertions;
+    private String routeName;
+    private RouteStats routeStats;
+    private NetworkCapture networkCapture;
+    private Predicate<CapturedRequest> networkFilter;
+    private String networkDescription;
 
     Expect(Actor actor) {
         this.actor = actor;
@@ -72,6 +82,37 @@ public final class Expect implements ILocatorExpect, IPageExpect {
         }
     }
 
+    private void executeRouteAssert(IExpect expect) {
+        if (this.routeStats == null) {
+            throw new RuntimeException("Route was not specified. Please use .mock(name) to specify route under assert.");
+        }
+        if (isExpectSoft) {
+            try {
+                expect.doAssert();
+            } catch (AssertionFailedError e) {
+                failedAsserts.add(e);
+            }
+        } else {
+            expect.doAssert();
+        }
+    }
+
+    private void executeNetworkAssert(IExpect expect) {
+        if (this.networkFilter == null) {
+            throw new RuntimeException("Requests were not specified. Please use .network().requested(...) " +
+                    "to specify requests under assert.");
+        }
+        if (isExpectSoft) {
+            try {
+                expect.doAssert();
+            } catch (AssertionFailedError e) {
+                failedAsserts.add(e);
+            }
+        } else {
+            expect.doAssert();
+        }
+    }
+
     private void executePseudoElementAssert(IExpect expect) {
         if (isExpectSoft) {
             try {
@@ -251,6 +292,34 @@ public final class Expect implements ILocatorExpect, IPageExpect {
         return this.initPageAssertions();
     }
 
+    // Init route assertions
+
+    /**
+     * This method points all next checks in chain on Mock, Request or HarReplay with this name,
+     * e.g. mock("cart").calledTimes(1)
+     *
+     * @param name of route given in 'forUrl(name, ...)'
+     * @return instance of IRouteExpect
+     */
+    public IRouteExpect mock(String name) {
+        this.routeStats = this.actor.routeStats(name);
+        this.routeName = name;
+        return this;
+    }
+
+    // Init network assertions
+
+    /**
+     * This method points all next checks in chain on requests recorded by 'startNetworkCapture()' on current page,
+     * e.g. network().requested("**&#47;api/cart").times(1)
+     *
+     * @return instance of INetworkExpect
+     */
+    public INetworkExpect network() {
+        this.networkCapture = this.actor.networkCapture();
+        return this;
+    }
+
     // Element state checks
 
     /**
@@ -1329,4 +1398,220 @@ public final class Expect implements ILocatorExpect, IPageExpect {
         this.executePageAssert(() -> pageAssertions.hasTitle(pattern, new PageAssertions.HasTitleOptions().setTimeout(timeout)));
         return this;
     }
+
+    // Route checks
+
+    // route handlers and events run while driver dispatches messages, so waiting is done by page to let requests come in.
+    private long waitForCount(LongSupplier count, long times) {
+        long deadline = System.nanoTime() + (long) (this.timeout * 1_000_000);
+        while (count.getAsLong() < times && System.nanoTime() < deadline) {
+            if (this.actor.currentPage() != null) {
+                this.actor.currentPage().waitForTimeout(POLL_INTERVAL);
+            } else {
+                try {
+                    Thread.sleep(POLL_INTERVAL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return count.getAsLong();
+    }
+
+    private long waitForHits(long times) {
+        return waitForCount(this.routeStats::getHits, times);
+    }
+
+    private void assertThatRouteCount(String description, long expected, long actual) {
+        if (expected != actual) {
+            throw new AssertionFailedError(String.format("Route '%s' %s:\nExpected: %d\nActual: %d\nStats: %s",
+                    this.routeName, description, expected, actual, this.routeStats), expected, actual);
+        }
+    }
+
+    /**
+     * Ensures the route handled exactly given amount of requests, waits for requests till expect timeout.
+     *
+     * @param times amount of requests
+     * @return instance of IRouteExpect
+     */
+    @Override
+    public IRouteExpect calledTimes(int times) {
+        this.executeRouteAssert(() -> assertThatRouteCount("was called unexpected amount of times",
+                times, waitForHits(times)));
+        return this;
+    }
+
+    /**
+     * Ensures the route handled at least given amount of requests, waits for requests till expect timeout.
+     *
+     * @param times amount of requests
+     * @return instance of IRouteExpect
+     */
+    @Override
+    public IRouteExpect calledAtLeastTimes(int times) {
+        this.executeRouteAssert(() -> {
+            long hits = waitForHits(times);
+            if (hits < times) {
+                throw new AssertionFailedError(String.format(
+                        "Route '%s' was called less than expected:\nExpected at least: %d\nActual: %d\nStats: %s",
+                        this.routeName, times, hits, this.routeStats), times, hits);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Ensures the route did not handle any request so far.
+     *
+     * @return instance of IRouteExpect
+     */
+    @Override
+    public IRouteExpect notCalled() {
+        this.executeRouteAssert(() -> assertThatRouteCount("was called", 0, this.routeStats.getHits()));
+        return this;
+    }
+
+    /**
+     * Ensures given amount of requests matched url of the route, but were skipped because of other REST method.
+     *
+     * @param times amount of requests
+     * @return instance of IRouteExpect
+     */
+    @Override
+    public IRouteExpect methodMissedTimes(int times) {
+        this.executeRouteAssert(() -> assertThatRouteCount("skipped unexpected amount of requests by REST method",
+                times, this.routeStats.getMethodMisses()));
+        return this;
+    }
+
+    // Network checks
+
+    /**
+     * Points next checks in chain on requests with url matching glob pattern.
+     *
+     * @param globPattern of url, e.g. '**&#47;api/cart'
+     * @return instance of INetworkExpect
+     */
+    @Override
+    public INetworkExpect requested(String globPattern) {
+        Predicate<String> pattern = this.networkCapture.urlMatcher(globPattern);
+        this.networkFilter = request -> pattern.test(request.getUrl());
+        this.networkDescription = globPattern;
+        return this;
+    }
+
+    /**
+     * Points next checks in chain on requests with url matching predicate.
+     *
+     * @param urlPredicate of url
+     * @return instance of INetworkExpect
+     */
+    @Override
+    public INetworkExpect requested(Predicate<String> urlPredicate) {
+        this.networkFilter = request -> urlPredicate.test(request.getUrl());
+        this.networkDescription = "url predicate";
+        return this;
+    }
+
+    /**
+     * Narrows requests of next checks to REST method.
+     *
+     * @param restMethod of requests
+     * @return instance of INetworkExpect
+     */
+    @Override
+    public INetworkExpect withMethod(RestMethod restMethod) {
+        if (this.networkFilter != null) {
+            this.networkFilter = this.networkFilter.and(request -> restMethod.name().equals(request.getMethod()));
+            this.networkDescription = restMethod.name() + " " + this.networkDescription;
+        }
+        return this;
+    }
+
+    /**
+     * Narrows requests of next checks to responses with status.
+     *
+     * @param status of responses
+     * @return instance of INetworkExpect
+     */
+    @Override
+    public INetworkExpect withStatus(int status) {
+        if (this.networkFilter != null) {
+            this.networkFilter = this.networkFilter.and(request -> request.getStatus() == status);
+            this.networkDescription = this.networkDescription + " with status " + status;
+        }
+        return this;
+    }
+
+    private long countRequests() {
+        return this.networkCapture.count(this.networkFilter);
+    }
+
+    // count of ring buffer which dropped requests is not amount of sent requests.
+    private void assertNothingDropped() {
+        long dropped = this.networkCapture.getDropped();
+        if (dropped > 0) {
+            throw new AssertionFailedError(String.format("Requests '%s' can not be counted, network capture dropped " +
+                            "%d requests because it was full. Start capture with bigger capacity or clear it " +
+                            "before counted requests.", this.networkDescription, dropped));
+        }
+    }
+
+    private void assertThatRequestCount(String description, long expected, long actual) {
+        assertNothingDropped();
+        if (expected != actual) {
+            throw new AssertionFailedError(String.format("Requests '%s' %s:\nExpected: %d\nActual: %d\nRecorded: %s",
+                    this.networkDescription, description, expected, actual,
+                    this.networkCapture.getRequests(this.networkFilter)), expected, actual);
+        }
+    }
+
+    /**
+     * Ensures exactly given amount of requests was recorded, waits for requests till expect timeout.
+     * Fails if capture dropped requests, as well as 'never()', 'atLeastTimes()' fails only if retained
+     * requests are not enough.
+     *
+     * @param times amount of requests
+     * @return instance of INetworkExpect
+     */
+    @Override
+    public INetworkExpect times(int times) {
+        this.executeNetworkAssert(() -> assertThatRequestCount("were sent unexpected amount of times",
+                times, waitForCount(this::countRequests, times)));
+        return this;
+    }
+
+    /**
+     * Ensures at least given amount of requests was recorded, waits for requests till expect timeout.
+     *
+     * @param times amount of requests
+     * @return instance of INetworkExpect
+     */
+    @Override
+    public INetworkExpect atLeastTimes(int times) {
+        this.executeNetworkAssert(() -> {
+            long count = waitForCount(this::countRequests, times);
+            if (count < times) {
+                // retained requests are lower bound, so drops matter only if it is not enough.
+                assertNothingDropped();
+                throw new AssertionFailedError(String.format(
+                        "Requests '%s' were sent less than expected:\nExpected at least: %d\nActual: %d",
+                        this.networkDescription, times, count), times, count);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Ensures no request was recorded so far.
+     *
+     * @return instance of INetworkExpect
+     */
+    @Override
+    public INetworkExpect never() {
+        this.executeNetworkAssert(() -> assertThatRequestCount("were sent", 0, countRequests()));
+        return this;
+    }
 }
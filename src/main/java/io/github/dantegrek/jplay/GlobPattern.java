@@ -0,0 +1,229 @@
+package io.github.dantegrek.jplay;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Url glob compiled once per JVM, the same glob used on many pages and contexts shares one compiled instance.
+ * Rules are the same as in playwright: '*' matches inside of path segment, '**' across segments,
+ * '?' matches one char and '{a,b}' is alternative. Globs like 'https://host/**' or '**&#47;api/users' are
+ * matched by string prefix or suffix, other globs by regular expression.
+ * Instance is url predicate, so it can be given to 'forUrl(Predicate)' as well.
+ */
+public final class GlobPattern implements Predicate<String> {
+
+    private static final String GLOB_CHARS = "*?{[";
+    private static final String ESCAPED_GLOB_CHARS = "/$^+.()=!|";
+    private static final String DEEP_PREFIX = "**/";
+    private static final String DEEP_SUFFIX = "/**";
+    private static final int MAX_CACHE_SIZE = 4096;
+    private static final Map<String, GlobPattern> cache = new ConcurrentHashMap<>();
+    private static final Pattern SCHEME = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*:");
+
+    private final String glob;
+    private final Predicate<String> matcher;
+
+    private GlobPattern(String glob) {
+        this.glob = glob;
+        this.matcher = matcher(glob);
+    }
+
+    /**
+     * Returns compiled glob from cache, glob is compiled on first usage.
+     *
+     * @param glob url glob pattern
+     * @return instance of GlobPattern
+     */
+    public static GlobPattern compile(String glob) {
+        GlobPattern pattern = cache.get(glob);
+        if (pattern != null) {
+            return pattern;
+        }
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            // generated globs should not grow cache without limit.
+            cache.clear();
+        }
+        return cache.computeIfAbsent(glob, GlobPattern::new);
+    }
+
+    /**
+     * Checks if string has glob chars, string without them matches only equal url.
+     *
+     * @param url exact url or glob pattern
+     * @return boolean
+     */
+    public static boolean isGlob(String url) {
+        for (int i = 0; i < url.length(); i++) {
+            if (GLOB_CHARS.indexOf(url.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves relative url or glob against base url of context the same way as playwright does,
+     * globs starting with '*' and absolute urls are returned as they are.
+     *
+     * @param baseUrl   base url of context or null
+     * @param urlOrGlob exact url or glob pattern
+     * @return absolute url or glob
+     */
+    public static String resolve(String baseUrl, String urlOrGlob) {
+        if (baseUrl == null || baseUrl.isEmpty() || urlOrGlob.startsWith("*")
+                || SCHEME.matcher(urlOrGlob).lookingAt()) {
+            return urlOrGlob;
+        }
+        int schemeEnd = baseUrl.indexOf("://");
+        if (schemeEnd < 0) {
+            return urlOrGlob;
+        }
+        if (urlOrGlob.startsWith("//")) {
+            return baseUrl.substring(0, schemeEnd + 1) + urlOrGlob;
+        }
+        int pathStart = baseUrl.indexOf('/', schemeEnd + 3);
+        String origin = pathStart < 0 ? baseUrl : baseUrl.substring(0, pathStart);
+        if (urlOrGlob.startsWith("/")) {
+            return origin + urlOrGlob;
+        }
+        String path = pathStart < 0 ? "/" : baseUrl.substring(pathStart);
+        int pathEnd = indexOfAny(path, "?#");
+        path = pathEnd < 0 ? path : path.substring(0, pathEnd);
+        if (urlOrGlob.startsWith("?") || urlOrGlob.startsWith("#")) {
+            return origin + path + urlOrGlob;
+        }
+        String directory = path.substring(0, path.lastIndexOf('/') + 1);
+        String relative = urlOrGlob;
+        while (relative.startsWith("./") || relative.startsWith("../")) {
+            if (relative.startsWith("../")) {
+                relative = relative.substring(3);
+                int parent = directory.lastIndexOf('/', directory.length() - 2);
+                directory = parent < 0 ? "/" : directory.substring(0, parent + 1);
+            } else {
+                relative = relative.substring(2);
+            }
+        }
+        return origin + directory + relative;
+    }
+
+    /**
+     * Url predicate of exact url or glob, relative one is resolved against base url. As in playwright,
+     * url matches if it matches glob or equals it exactly, so literal url with '?' or '{' matches itself.
+     *
+     * @param baseUrl   base url of context or null
+     * @param urlOrGlob exact url or glob pattern
+     * @return url predicate
+     */
+    public static Predicate<String> urlMatcher(String baseUrl, String urlOrGlob) {
+        String resolved = resolve(baseUrl, urlOrGlob);
+        if (!isGlob(resolved)) {
+            return resolved::equals;
+        }
+        GlobPattern pattern = compile(resolved);
+        return url -> url.equals(resolved) || pattern.test(url);
+    }
+
+    private static int indexOfAny(String value, String chars) {
+        for (int i = 0; i < value.length(); i++) {
+            if (chars.indexOf(value.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if url matches glob.
+     *
+     * @param url of request
+     * @return boolean
+     */
+    @Override
+    public boolean test(String url) {
+        return this.matcher.test(url);
+    }
+
+    /**
+     * Getter
+     *
+     * @return glob this pattern was compiled from.
+     */
+    public String getGlob() {
+        return this.glob;
+    }
+
+    @Override
+    public String toString() {
+        return this.glob;
+    }
+
+    // Compilation
+
+    private static Predicate<String> matcher(String glob) {
+        if (!isGlob(glob)) {
+            return glob::equals;
+        }
+        // '**/' at start consumes whole segments, so rest of glob is matched at start or after '/'.
+        if (glob.startsWith(DEEP_PREFIX) && glob.length() > DEEP_PREFIX.length()
+                && !isGlob(glob.substring(DEEP_PREFIX.length()))) {
+            String literal = glob.substring(DEEP_PREFIX.length());
+            String suffix = "/" + literal;
+            return url -> url.endsWith(suffix) || url.equals(literal);
+        }
+        // '/**' at end matches any rest of url.
+        if (glob.endsWith(DEEP_SUFFIX) && !isGlob(glob.substring(0, glob.length() - 2))) {
+            String prefix = glob.substring(0, glob.length() - 2);
+            return url -> url.startsWith(prefix);
+        }
+        Pattern pattern = Pattern.compile(toRegex(glob));
+        return url -> pattern.matcher(url).matches();
+    }
+
+    /**
+     * Converts glob to regular expression which matches the same urls as playwright one,
+     * expression is valid in Java and in JavaScript.
+     *
+     * @param glob url glob pattern
+     * @return regular expression as String
+     */
+    public static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder("^");
+        boolean inGroup = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (ESCAPED_GLOB_CHARS.indexOf(c) >= 0) {
+                regex.append('\\').append(c);
+            } else if (c == '*') {
+                boolean beforeDeep = i < 1 || glob.charAt(i - 1) == '/';
+                int starCount = 1;
+                while (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    starCount++;
+                    i++;
+                }
+                boolean afterDeep = i + 1 >= glob.length() || glob.charAt(i + 1) == '/';
+                if (starCount > 1 && beforeDeep && afterDeep) {
+                    // at end it is rest of url, otherwise whole segments with '/', so matching does not backtrack.
+                    regex.append(i + 2 >= glob.length() ? ".*" : "(?:[^/]*/)*");
+                    i++;
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '{') {
+                inGroup = true;
+                regex.append('(');
+            } else if (c == '}') {
+                inGroup = false;
+                regex.append(')');
+            } else if (c == ',') {
+                regex.append(inGroup ? "|" : "\\,");
+            } else {
+                regex.append(c);
+            }
+        }
+        return regex.append('$').toString();
+    }
+}
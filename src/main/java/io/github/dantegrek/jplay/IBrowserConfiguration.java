@@ -2,6 +2,7 @@ package io.github.dantegrek.jplay;
 
 import com.microsoft.playwright.options.Proxy;
 import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.DriverScope;
 
 import java.nio.file.Path;
 import java.util.List;
@@ -34,6 +35,45 @@ public interface IBrowserConfiguration extends IConfigSwitcher {
      */
     IBrowserConfiguration withBrowser(BrowserName browserName);
 
+    /**
+     * Sets scope in which playwright driver process is reused between browser launches.
+     * Driver is leased on browser start and returned on 'closeBrowser()', it is closed when thread is dead
+     * or on JVM shutdown.
+     *
+     * @param driverScope THREAD by default, JVM only for tests which run in one thread.
+     * @return instance of Configuration
+     */
+    IBrowserConfiguration withDriverScope(DriverScope driverScope);
+
+    /**
+     * Leases warm browser from {@link io.github.dantegrek.jplay.BrowserPool} on start
+     * and returns it to pool on 'closeBrowser()' instead of closing.
+     *
+     * @param withBrowserPool false by default.
+     * @return instance of Configuration
+     */
+    IBrowserConfiguration withBrowserPool(boolean withBrowserPool);
+
+    /**
+     * Connects to browser shared by all actors of JVM instead of launching own one,
+     * actor works in own context and 'closeBrowser()' only disconnects it.
+     * Shared browsers are closed by {@link io.github.dantegrek.jplay.SharedBrowsers#closeAll()} or on JVM shutdown.
+     *
+     * @param withSharedBrowser false by default, ignored when browser pool is used.
+     * @return instance of Configuration
+     */
+    IBrowserConfiguration withSharedBrowser(boolean withSharedBrowser);
+
+    /**
+     * Connects to local browser server shared by all JVMs on machine, e.g. by surefire forks,
+     * instead of launching own browser. Server is launched by first JVM and stopped when last JVM exits,
+     * forks find it in {@link io.github.dantegrek.jplay.LocalBrowserServers} registry directory.
+     *
+     * @param withLocalBrowserServer false by default, ignored when browser pool is used.
+     * @return instance of Configuration
+     */
+    IBrowserConfiguration withLocalBrowserServer(boolean withLocalBrowserServer);
+
 
     /**
      * Additional arguments to pass to the browser instance.
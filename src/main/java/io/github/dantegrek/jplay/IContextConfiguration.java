@@ -1,6 +1,7 @@
 package io.github.dantegrek.jplay;
 
 import com.microsoft.playwright.options.*;
+import io.github.dantegrek.enums.ResourceType;
 import io.github.dantegrek.interfaces.Device;
 
 import java.nio.file.Path;
@@ -366,4 +367,63 @@ public interface IContextConfiguration extends IConfigSwitcher {
      * @return instance of IContextConfiguration
      */
     IContextConfiguration withTraceNamePrefix(String name);
+
+    /**
+     * If true, 'closeCurrentContext()' does not close context but resets it: removes routes of Mock and Request,
+     * closes pages, clears cookies, local and session storage and permissions.
+     * Next 'createContextAndTab()' with the same context options reuses such context.
+     * Contexts which record video, har or have storage state are always closed.
+     *
+     * @param withContextRecycling false by default.
+     * @return instance of IContextConfiguration
+     */
+    IContextConfiguration withContextRecycling(boolean withContextRecycling);
+
+    /**
+     * Amount of blank pages with timeouts applied kept in each context created by actor,
+     * 'openNewTab()' switches to one of them. Pool is refilled on 'closeCurrentTab()' and on context creation.
+     * Warm pages are not visible for switchTabByIndex() and switchTabByTitle().
+     *
+     * @param pagePoolSize 0 by default, pool is disabled.
+     * @return instance of IContextConfiguration
+     */
+    IContextConfiguration withPagePoolSize(int pagePoolSize);
+
+    /**
+     * Populates new contexts with storage state from {@link io.github.dantegrek.jplay.StorageStateCache}.
+     * If cache does not have state of key yet, login task is performed once in separate context
+     * and its storage state is cached.
+     *
+     * @param key   of storage state, e.g. user or role
+     * @param login task which logs in on current page
+     * @return instance of IContextConfiguration
+     */
+    IContextConfiguration withCachedStorageState(String key, Task login);
+
+    /**
+     * Aborts requests of these resource types in contexts created by actor, e.g. IMAGE, FONT or MEDIA.
+     * Blocked requests are counted in 'actor.blockedRequests()'.
+     *
+     * @param resourceTypes to block, nothing is blocked by default.
+     * @return instance of IContextConfiguration
+     */
+    IContextConfiguration withBlockedResourceTypes(ResourceType... resourceTypes);
+
+    /**
+     * Aborts requests to these hosts and their subdomains in contexts created by actor,
+     * e.g. 'google-analytics.com' blocks 'www.google-analytics.com' as well.
+     *
+     * @param hosts to block, nothing is blocked by default.
+     * @return instance of IContextConfiguration
+     */
+    IContextConfiguration withBlockedHosts(String... hosts);
+
+    /**
+     * Aborts requests with urls matching these glob patterns in contexts created by actor.
+     * Mock and Request routes win over blocking policy.
+     *
+     * @param globPatterns to block, nothing is blocked by default.
+     * @return instance of IContextConfiguration
+     */
+    IContextConfiguration withBlockedUrls(String... globPatterns);
 }
@@ -0,0 +1,73 @@
+package io.github.dantegrek.jplay;
+
+import io.github.dantegrek.enums.RestMethod;
+
+import java.util.function.Predicate;
+
+/**
+ * All network assert methods, they check requests recorded by 'startNetworkCapture()' on current page.
+ */
+public interface INetworkExpect {
+
+    /**
+     * Syntax sugar.
+     *
+     * @return instance of Actor
+     */
+    Actor actor();
+
+    /**
+     * Points next checks in chain on requests with url matching glob pattern.
+     *
+     * @param globPattern of url, e.g. '**&#47;api/cart'
+     * @return instance of INetworkExpect
+     */
+    INetworkExpect requested(String globPattern);
+
+    /**
+     * Points next checks in chain on requests with url matching predicate.
+     *
+     * @param urlPredicate of url
+     * @return instance of INetworkExpect
+     */
+    INetworkExpect requested(Predicate<String> urlPredicate);
+
+    /**
+     * Narrows requests of next checks to REST method.
+     *
+     * @param restMethod of requests
+     * @return instance of INetworkExpect
+     */
+    INetworkExpect withMethod(RestMethod restMethod);
+
+    /**
+     * Narrows requests of next checks to responses with status.
+     *
+     * @param status of responses
+     * @return instance of INetworkExpect
+     */
+    INetworkExpect withStatus(int status);
+
+    /**
+     * Ensures exactly given amount of requests was recorded, waits for requests till expect timeout.
+     *
+     * @param times amount of requests
+     * @return instance of INetworkExpect
+     */
+    INetworkExpect times(int times);
+
+    /**
+     * Ensures at least given amount of requests was recorded, waits for requests till expect timeout.
+     *
+     * @param times amount of requests
+     * @return instance of INetworkExpect
+     */
+    INetworkExpect atLeastTimes(int times);
+
+    /**
+     * Ensures no request was recorded so far.
+     *
+     * @return instance of INetworkExpect
+     */
+    INetworkExpect never();
+}
@@ -0,0 +1,45 @@
+package io.github.dantegrek.jplay;
+
+/**
+ * All route assert methods, route is Mock, Request or HarReplay performed with name in 'forUrl(name, ...)'.
+ */
+public interface IRouteExpect {
+
+    /**
+     * Syntax sugar.
+     *
+     * @return instance of Actor
+     */
+    Actor actor();
+
+    /**
+     * Ensures the route handled exactly given amount of requests, waits for requests till expect timeout.
+     *
+     * @param times amount of requests
+     * @return instance of IRouteExpect
+     */
+    IRouteExpect calledTimes(int times);
+
+    /**
+     * Ensures the route handled at least given amount of requests, waits for requests till expect timeout.
+     *
+     * @param times amount of requests
+     * @return instance of IRouteExpect
+     */
+    IRouteExpect calledAtLeastTimes(int times);
+
+    /**
+     * Ensures the route did not handle any request so far.
+     *
+     * @return instance of IRouteExpect
+     */
+    IRouteExpect notCalled();
+
+    /**
+     * Ensures given amount of requests matched url of the route, but were skipped because of other REST method.
+     *
+     * @param times amount of requests
+     * @return instance of IRouteExpect
+     */
+    IRouteExpect methodMissedTimes(int times);
+}
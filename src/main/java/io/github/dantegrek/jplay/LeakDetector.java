@@ -0,0 +1,231 @@
+package io.github.dantegrek.jplay;
+
+import org.opentest4j.AssertionFailedError;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in detector of browsers, contexts, pages, route and dialog handlers which actors left open.
+ * Each tracked object remembers call site which created it, objects are forgotten when they are closed.
+ * Open objects are reported by 'verify(actor)' at the end of test and on JVM shutdown, with auto close
+ * they are closed as well. Enable it by 'LeakDetector.withEnabled(true)', system property 'jplay.leakDetector=true'
+ * or by LeakDetectorExtension.
+ */
+public final class LeakDetector {
+
+    /**
+     * System property which enables detector on start of JVM.
+     */
+    public static final String ENABLED_PROPERTY = "jplay.leakDetector";
+
+    private static final String JPLAY_PACKAGE = LeakDetector.class.getPackage().getName();
+    private static final Map<Object, Tracked> tracked = new HashMap<>();
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    private static volatile boolean autoClose;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LeakDetector::reportOnShutdown, "jplay-leak-detector"));
+    }
+
+    private LeakDetector() {
+    }
+
+    /**
+     * Kinds of tracked objects in order they are closed.
+     */
+    enum Kind {
+        ROUTE_HANDLER("route handler"),
+        DIALOG_HANDLER("dialog handler"),
+        PAGE("page"),
+        CONTEXT("context"),
+        BROWSER("browser");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * Object created by actor with its call site.
+     */
+    private static final class Tracked {
+        private final Kind kind;
+        private final Object owner;
+        private final String thread;
+        private final Throwable callSite;
+        private final Runnable close;
+
+        private Tracked(Kind kind, Object owner, Runnable close) {
+            this.kind = kind;
+            this.owner = owner;
+            this.thread = Thread.currentThread().getName();
+            this.callSite = new Throwable("created here");
+            this.close = close;
+        }
+
+        private String describe() {
+            StackTraceElement caller = Arrays.stream(this.callSite.getStackTrace())
+                    .filter(element -> !element.getClassName().startsWith(JPLAY_PACKAGE)
+                            && !element.getClassName().startsWith("com.microsoft.playwright")
+                            && !element.getClassName().startsWith("java."))
+                    .findFirst()
+                    .orElse(this.callSite.getStackTrace()[0]);
+            return String.format("%s created in thread '%s' at %s", this.kind.description, this.thread, caller);
+        }
+
+        private void closeQuietly() {
+            try {
+                this.close.run();
+            } catch (RuntimeException ignored) {
+                // object is already closed together with its parent.
+            }
+        }
+    }
+
+    // Settings
+
+    /**
+     * Turns detector on or off, objects created while detector is off are not tracked.
+     *
+     * @param isEnabled false by default.
+     */
+    public static void withEnabled(boolean isEnabled) {
+        enabled = isEnabled;
+    }
+
+    /**
+     * Closes open objects when they are reported.
+     *
+     * @param isAutoClose false by default.
+     */
+    public static void withAutoClose(boolean isAutoClose) {
+        autoClose = isAutoClose;
+    }
+
+    // Tracking
+
+    /**
+     * Checks if detector is on, callers use it to skip listeners which are needed only for tracking.
+     *
+     * @return boolean
+     */
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts tracking of object, does nothing if detector is off.
+     *
+     * @param resource object to track, playwright objects are compared by identity
+     * @param kind     of object
+     * @param owner    browser manager of actor which created object
+     * @param close    closes object
+     */
+    static void track(Object resource, Kind kind, Object owner, Runnable close) {
+        if (!enabled) {
+            return;
+        }
+        Tracked leak = new Tracked(kind, owner, close);
+        synchronized (LeakDetector.class) {
+            tracked.putIfAbsent(resource, leak);
+        }
+    }
+
+    /**
+     * Stops tracking of object because it was closed.
+     *
+     * @param resource tracked object
+     */
+    static void untrack(Object resource) {
+        synchronized (LeakDetector.class) {
+            if (!tracked.isEmpty()) {
+                tracked.remove(resource);
+            }
+        }
+    }
+
+    /**
+     * Stops tracking of all objects of actor, e.g. because its browser was closed.
+     *
+     * @param owner browser manager of actor
+     */
+    static synchronized void untrackOwner(Object owner) {
+        tracked.values().removeIf(leak -> leak.owner == owner);
+    }
+
+    // Reports
+
+    private static synchronized List<Tracked> open(Object owner) {
+        return tracked.values().stream()
+                .filter(leak -> owner == null || leak.owner == owner)
+                .sorted(Comparator.comparing(leak -> leak.kind))
+                .collect(Collectors.toList());
+    }
+
+    private static String report(List<Tracked> leaks) {
+        return leaks.stream()
+                .map(Tracked::describe)
+                .collect(Collectors.joining("\n", "Open objects left by actor:\n", ""));
+    }
+
+    private static void close(List<Tracked> leaks) {
+        // handlers first, browser last, so each object is closed before its parent.
+        for (Tracked leak : leaks) {
+            leak.closeQuietly();
+            synchronized (LeakDetector.class) {
+                tracked.values().remove(leak);
+            }
+        }
+    }
+
+    /**
+     * Descriptions of all open objects of all actors with call sites.
+     *
+     * @return List of String
+     */
+    public static List<String> openObjects() {
+        return open(null).stream().map(Tracked::describe).collect(Collectors.toList());
+    }
+
+    /**
+     * Fails if actor left open objects, with auto close they are closed before failure.
+     *
+     * @param actor which should not have open objects
+     */
+    public static void verify(Actor actor) {
+        List<Tracked> leaks = open(actor.leakOwner());
+        if (leaks.isEmpty()) {
+            return;
+        }
+        String report = report(leaks);
+        if (autoClose) {
+            close(leaks);
+        }
+        throw new AssertionFailedError(report);
+    }
+
+    /**
+     * Closes all open objects of all actors.
+     *
+     * @return amount of closed objects
+     */
+    public static int closeAll() {
+        List<Tracked> leaks = open(null);
+        close(leaks);
+        return leaks.size();
+    }
+
+    private static void reportOnShutdown() {
+        List<Tracked> leaks = open(null);
+        if (leaks.isEmpty()) {
+            return;
+        }
+        System.err.println(report(leaks));
+        if (autoClose) {
+            close(leaks);
+        }
+    }
+}
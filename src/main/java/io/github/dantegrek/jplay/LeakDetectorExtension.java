@@ -0,0 +1,27 @@
+package io.github.dantegrek.jplay;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * JUnit 5 extension which turns LeakDetector on before each test and fails test if actor of test thread
+ * left browser, context, page, route or dialog handler open. Register it before other extensions
+ * which close browser, because after each callbacks are executed in reverse order.
+ * <pre>
+ * &#64;ExtendWith(LeakDetectorExtension.class)
+ * public class MyTest { ... }
+ * </pre>
+ */
+public class LeakDetectorExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        LeakDetector.withEnabled(true);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        LeakDetector.verify(Actor.actor());
+    }
+}
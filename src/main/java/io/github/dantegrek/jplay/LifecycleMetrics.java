@@ -0,0 +1,228 @@
+package io.github.dantegrek.jplay;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import io.github.dantegrek.enums.LifecycleStage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Durations of browser lifecycle stages. Each actor has own metrics, all of them are also summed up
+ * in global metrics which can be written to json file at the end of run.
+ * Set system property 'jplay.metrics.file' to write global metrics on JVM shutdown.
+ */
+public final class LifecycleMetrics {
+
+    /**
+     * System property with path of json file global metrics are written to on JVM shutdown.
+     */
+    public static final String METRICS_FILE_PROPERTY = "jplay.metrics.file";
+
+    private static final LifecycleMetrics global = new LifecycleMetrics(null);
+
+    static {
+        String metricsFile = System.getProperty(METRICS_FILE_PROPERTY);
+        if (metricsFile != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> global.writeJson(Paths.get(metricsFile)),
+                    "jplay-metrics-dump"));
+        }
+    }
+
+    private final LifecycleMetrics parent;
+    private final Map<LifecycleStage, long[]> stages = new EnumMap<>(LifecycleStage.class);
+
+    // count, total, min and max in nanoseconds.
+    private static final int COUNT = 0;
+    private static final int TOTAL = 1;
+    private static final int MIN = 2;
+    private static final int MAX = 3;
+
+    private LifecycleMetrics(LifecycleMetrics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Creates metrics of one actor.
+     *
+     * @return instance of LifecycleMetrics
+     */
+    static LifecycleMetrics forActor() {
+        return new LifecycleMetrics(global);
+    }
+
+    /**
+     * Metrics of all actors of JVM.
+     *
+     * @return instance of LifecycleMetrics
+     */
+    public static LifecycleMetrics global() {
+        return global;
+    }
+
+    /**
+     * Records duration of stage.
+     *
+     * @param stage    of lifecycle
+     * @param duration in nanoseconds
+     */
+    void record(LifecycleStage stage, long duration) {
+        synchronized (this) {
+            long[] values = this.stages.computeIfAbsent(stage, key -> new long[]{0, 0, Long.MAX_VALUE, 0});
+            values[COUNT]++;
+            values[TOTAL] += duration;
+            values[MIN] = Math.min(values[MIN], duration);
+            values[MAX] = Math.max(values[MAX], duration);
+        }
+        if (this.parent != null) {
+            this.parent.record(stage, duration);
+        }
+    }
+
+    /**
+     * Executes stage and records its duration, also when it fails.
+     *
+     * @param stage  of lifecycle
+     * @param action stage itself
+     * @param <T>    type of stage result
+     * @return result of action
+     */
+    <T> T time(LifecycleStage stage, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Executes stage and records its duration, also when it fails.
+     *
+     * @param stage  of lifecycle
+     * @param action stage itself
+     */
+    void time(LifecycleStage stage, Runnable action) {
+        time(stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private synchronized long value(LifecycleStage stage, int index) {
+        long[] values = this.stages.get(stage);
+        return values == null ? 0 : values[index];
+    }
+
+    /**
+     * Amount of times stage was executed.
+     *
+     * @param stage of lifecycle
+     * @return long
+     */
+    public long getCount(LifecycleStage stage) {
+        return value(stage, COUNT);
+    }
+
+    /**
+     * Sum of all durations of stage.
+     *
+     * @param stage of lifecycle
+     * @return Duration
+     */
+    public Duration getTotal(LifecycleStage stage) {
+        return Duration.ofNanos(value(stage, TOTAL));
+    }
+
+    /**
+     * Shortest duration of stage.
+     *
+     * @param stage of lifecycle
+     * @return Duration, zero if stage was not executed
+     */
+    public Duration getMin(LifecycleStage stage) {
+        return Duration.ofNanos(getCount(stage) == 0 ? 0 : value(stage, MIN));
+    }
+
+    /**
+     * Longest duration of stage.
+     *
+     * @param stage of lifecycle
+     * @return Duration
+     */
+    public Duration getMax(LifecycleStage stage) {
+        return Duration.ofNanos(value(stage, MAX));
+    }
+
+    /**
+     * Average duration of stage.
+     *
+     * @param stage of lifecycle
+     * @return Duration, zero if stage was not executed
+     */
+    public synchronized Duration getAverage(LifecycleStage stage) {
+        long count = getCount(stage);
+        return Duration.ofNanos(count == 0 ? 0 : value(stage, TOTAL) / count);
+    }
+
+    /**
+     * Forgets all recorded durations, global metrics are not changed.
+     */
+    public synchronized void reset() {
+        this.stages.clear();
+    }
+
+    /**
+     * Converts metrics to json, durations are in milliseconds.
+     *
+     * @return json String
+     */
+    public synchronized String toJson() {
+        JsonObject json = new JsonObject();
+        for (LifecycleStage stage : LifecycleStage.values()) {
+            if (getCount(stage) == 0) {
+                continue;
+            }
+            JsonObject stageJson = new JsonObject();
+            stageJson.addProperty("count", getCount(stage));
+            stageJson.addProperty("totalMs", millis(getTotal(stage)));
+            stageJson.addProperty("minMs", millis(getMin(stage)));
+            stageJson.addProperty("maxMs", millis(getMax(stage)));
+            stageJson.addProperty("averageMs", millis(getAverage(stage)));
+            json.add(stage.name(), stageJson);
+        }
+        return new GsonBuilder().setPrettyPrinting().create().toJson(json);
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * Writes metrics as json to file.
+     *
+     * @param path of json file
+     */
+    public void writeJson(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.write(path, toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Can not write metrics to '" + path + "'.", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
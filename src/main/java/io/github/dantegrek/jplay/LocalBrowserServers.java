@@ -0,0 +1,241 @@
+package io.github.dantegrek.jplay;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import io.github.dantegrek.enums.BrowserName;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Browser servers shared by all JVMs on machine, e.g. by surefire forks, one per browser name and launch options.
+ * First JVM launches server and writes its ws endpoint to registry directory, other JVMs connect to it.
+ * Each connected JVM registers itself in registry. Server is not stopped by the last JVM which leaves, it waits
+ * for idle timeout, so forks which run one after another, e.g. surefire with 'reuseForks=false', share it too.
+ * Registry files are changed only under file lock, so forks do not launch two servers.
+ */
+public final class LocalBrowserServers {
+
+    private static Path registryDir = Paths.get("target", "jplay-browser-servers");
+    private static final Map<String, String> endpoints = new HashMap<>();
+    private static final String CLIENT_ID = String.valueOf(ProcessHandle.current().pid());
+    private static final long IDLE_POLL_INTERVAL = 500;
+    private static Duration idleTimeout = Duration.ofSeconds(30);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LocalBrowserServers::leave, "jplay-local-browser-servers"));
+    }
+
+    private LocalBrowserServers() {
+    }
+
+    /**
+     * Sets directory where forks find endpoints of browser servers, all forks should use the same directory.
+     *
+     * @param dir target/jplay-browser-servers by default.
+     */
+    public static synchronized void withRegistryDir(Path dir) {
+        registryDir = dir;
+    }
+
+    /**
+     * Sets how long server waits for next JVM after the last one left, e.g. for next surefire fork.
+     * It is applied to servers launched later.
+     *
+     * @param timeout 30 seconds by default, zero stops server right after the last JVM left.
+     */
+    public static synchronized void withIdleTimeout(Duration timeout) {
+        if (timeout.isNegative()) {
+            throw new RuntimeException("Idle timeout of browser server can not be negative.");
+        }
+        idleTimeout = timeout;
+    }
+
+    /**
+     * Unregisters this JVM from all servers it used, server without registered JVMs is stopped after idle timeout.
+     * Called on JVM shutdown.
+     */
+    public static synchronized void leave() {
+        for (String key : endpoints.keySet()) {
+            try {
+                withLock(key, () -> {
+                    deleteQuietly(clientsDir(key).resolve(CLIENT_ID));
+                    return null;
+                });
+            } catch (RuntimeException ignored) {
+                // registry could be already removed, e.g. by 'mvn clean' of other build.
+            }
+        }
+        endpoints.clear();
+    }
+
+    /**
+     * Connects to local browser server, server is launched if no JVM started it yet.
+     *
+     * @param playwright    driver of current thread
+     * @param snapshot   of configuration with browser name and launch options
+     * @return instance of Browser, closing it only disconnects actor and closes its contexts.
+     */
+    static Browser connect(Playwright playwright, ConfigurationSnapshot snapshot) {
+        return BrowserServer.connect(playwright, snapshot.getBrowserName(), endpoint(snapshot), snapshot.launchOptions());
+    }
+
+    private static synchronized String endpoint(ConfigurationSnapshot snapshot) {
+        String key = snapshot.getBrowserName().name + "-"
+                + UUID.nameUUIDFromBytes(snapshot.getBrowserFingerprint().getBytes(StandardCharsets.UTF_8));
+        String endpoint = withLock(key, () -> {
+            BrowserServer server = readServer(key)
+                    .filter(BrowserServer::isAlive)
+                    .orElseGet(() -> launchServer(key, snapshot.getBrowserName(), snapshot.launchOptions()));
+            write(clientsDir(key).resolve(CLIENT_ID), "");
+            return server.getWsEndpoint();
+        });
+        endpoints.put(key, endpoint);
+        return endpoint;
+    }
+
+    private static BrowserServer launchServer(String key, BrowserName browserName, BrowserType.LaunchOptions launchOptions) {
+        BrowserServer server = BrowserServer.launch(browserName, launchOptions, registryDir, key, idleTimeout);
+        write(serverFile(key), server.getPid() + "\n" + server.getWsEndpoint());
+        return server;
+    }
+
+    /**
+     * Waits in JVM of server till no JVM is registered for idle timeout, registry entry of server is removed
+     * under lock, so JVM which comes later launches new server instead of connecting to stopping one.
+     *
+     * @param dir         registry directory
+     * @param key         of server
+     * @param idleTimeout in milliseconds
+     */
+    static void awaitIdle(Path dir, String key, long idleTimeout) {
+        withRegistryDir(dir);
+        String serverId = String.valueOf(ProcessHandle.current().pid());
+        long idleSince = System.nanoTime();
+        while (true) {
+            try {
+                Thread.sleep(IDLE_POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long idleFor = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - idleSince);
+            Boolean used = withLock(key, () -> {
+                boolean registered = readServer(key)
+                        .map(server -> String.valueOf(server.getPid()).equals(serverId))
+                        .orElse(false);
+                // server which was replaced in registry is not used by anyone.
+                if (!registered) {
+                    return null;
+                }
+                if (!aliveClients(key).isEmpty()) {
+                    return true;
+                }
+                if (idleFor < idleTimeout) {
+                    return false;
+                }
+                deleteQuietly(serverFile(key));
+                return null;
+            });
+            if (used == null) {
+                return;
+            }
+            if (used) {
+                idleSince = System.nanoTime();
+            }
+        }
+    }
+
+    // Registry files
+
+    private static Path serverFile(String key) {
+        return registryDir.resolve(key + ".server");
+    }
+
+    private static Path clientsDir(String key) {
+        return registryDir.resolve(key + ".clients");
+    }
+
+    private static Optional<BrowserServer> readServer(String key) {
+        Path serverFile = serverFile(key);
+        if (!Files.exists(serverFile)) {
+            return Optional.empty();
+        }
+        try {
+            List<String> lines = Files.readAllLines(serverFile, StandardCharsets.UTF_8);
+            return Optional.of(new BrowserServer(Long.parseLong(lines.get(0).trim()), lines.get(1).trim()));
+        } catch (IOException | RuntimeException e) {
+            // broken file is overwritten by new server.
+            return Optional.empty();
+        }
+    }
+
+    // JVMs which died without shutdown hook are removed from registry.
+    private static List<String> aliveClients(String key) {
+        Path clientsDir = clientsDir(key);
+        if (!Files.isDirectory(clientsDir)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> clients = Files.list(clientsDir)) {
+            List<String> alive = new ArrayList<>();
+            for (Path client : clients.collect(Collectors.toList())) {
+                String pid = client.getFileName().toString();
+                if (pid.matches("\\d+") && BrowserServer.isAlive(Long.parseLong(pid))) {
+                    alive.add(pid);
+                } else {
+                    deleteQuietly(client);
+                }
+            }
+            return alive;
+        } catch (IOException e) {
+            throw new RuntimeException("Can not read clients of browser server '" + key + "'.", e);
+        }
+    }
+
+    private static <T> T withLock(String key, Supplier<T> action) {
+        try {
+            Files.createDirectories(registryDir);
+            try (FileChannel channel = FileChannel.open(registryDir.resolve(key + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    return action.get();
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Can not lock browser server registry '" + registryDir + "'.", e);
+        }
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Can not write '" + file + "'.", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // file is cleaned by next JVM which takes lock.
+        }
+    }
+}
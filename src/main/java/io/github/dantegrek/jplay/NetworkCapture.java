@@ -0,0 +1,271 @@
+package io.github.dantegrek.jplay;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.Timing;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Requests of one page recorded into ring buffer of fixed size, the oldest requests are dropped when buffer is full,
+ * so long flows do not grow heap. Only metadata is recorded by default, bodies are recorded truncated
+ * if max body size is set, response body costs one driver call per request.
+ */
+public final class NetworkCapture {
+
+    private static final Map<Page, NetworkCapture> captures = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int capacity;
+    private final int maxBodySize;
+    private final String baseUrl;
+    private final ArrayDeque<CapturedRequest> requests;
+    // requests in flight, response objects are kept only till request is finished.
+    private final Map<Request, CapturedRequest> inFlight = new IdentityHashMap<>();
+    private final Map<Request, Response> responses = new IdentityHashMap<>();
+    private long dropped;
+
+    private final Consumer<Request> onRequest = this::requested;
+    private final Consumer<Response> onResponse = this::responded;
+    private final Consumer<Request> onRequestFinished = this::finished;
+    private final Consumer<Request> onRequestFailed = this::failed;
+
+    private NetworkCapture(int capacity, int maxBodySize, String baseUrl) {
+        this.capacity = capacity;
+        this.maxBodySize = maxBodySize;
+        this.baseUrl = baseUrl;
+        this.requests = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Starts capture on page, capture started earlier on this page is stopped.
+     *
+     * @param page        to capture
+     * @param capacity    max amount of recorded requests
+     * @param maxBodySize max size of recorded bodies in bytes, 0 does not record bodies
+     * @param baseUrl     base url of context, relative globs are resolved against it, can be null
+     * @return instance of NetworkCapture
+     */
+    static NetworkCapture start(Page page, int capacity, int maxBodySize, String baseUrl) {
+        if (capacity < 1) {
+            throw new RuntimeException("Capacity of network capture should be at least 1.");
+        }
+        if (maxBodySize < 0) {
+            throw new RuntimeException("Max body size of network capture can not be negative.");
+        }
+        stop(page);
+        NetworkCapture capture = new NetworkCapture(capacity, maxBodySize, baseUrl);
+        captures.put(page, capture);
+        page.onRequest(capture.onRequest);
+        page.onResponse(capture.onResponse);
+        page.onRequestFinished(capture.onRequestFinished);
+        page.onRequestFailed(capture.onRequestFailed);
+        return capture;
+    }
+
+    /**
+     * Stops capture on page, recorded requests are still available in stopped capture.
+     *
+     * @param page with capture
+     */
+    static void stop(Page page) {
+        NetworkCapture capture = captures.get(page);
+        if (capture != null && !page.isClosed()) {
+            page.offRequest(capture.onRequest);
+            page.offResponse(capture.onResponse);
+            page.offRequestFinished(capture.onRequestFinished);
+            page.offRequestFailed(capture.onRequestFailed);
+        }
+    }
+
+    /**
+     * Capture of page.
+     *
+     * @param page with capture
+     * @return instance of NetworkCapture, also stopped one, or null if capture was not started
+     */
+    static NetworkCapture of(Page page) {
+        return captures.get(page);
+    }
+
+    // Recording
+
+    private synchronized void requested(Request request) {
+        CapturedRequest captured = new CapturedRequest(request.url(), request.method(), request.resourceType(),
+                System.currentTimeMillis(), request.postDataBuffer(), this.maxBodySize);
+        if (this.requests.size() == this.capacity) {
+            drop(this.requests.removeFirst());
+        }
+        this.requests.addLast(captured);
+        this.inFlight.put(request, captured);
+    }
+
+    // dropped request which is still in flight is forgotten, so its request and response objects are not held.
+    private void drop(CapturedRequest captured) {
+        this.dropped++;
+        if (captured.isFinished()) {
+            return;
+        }
+        Iterator<Map.Entry<Request, CapturedRequest>> inFlight = this.inFlight.entrySet().iterator();
+        while (inFlight.hasNext()) {
+            Map.Entry<Request, CapturedRequest> entry = inFlight.next();
+            if (entry.getValue() == captured) {
+                inFlight.remove();
+                this.responses.remove(entry.getKey());
+                return;
+            }
+        }
+    }
+
+    private synchronized void responded(Response response) {
+        CapturedRequest captured = this.inFlight.get(response.request());
+        if (captured == null) {
+            return;
+        }
+        String contentLength = response.headers().get("content-length");
+        captured.responded(response.status(), contentLength == null ? -1 : parseLength(contentLength));
+        if (this.maxBodySize > 0) {
+            this.responses.put(response.request(), response);
+        }
+    }
+
+    private void finished(Request request) {
+        CapturedRequest captured;
+        Response response;
+        synchronized (this) {
+            captured = this.inFlight.remove(request);
+            response = this.responses.remove(request);
+        }
+        if (captured == null) {
+            return;
+        }
+        long bodySize = -1;
+        String body = null;
+        if (response != null) {
+            try {
+                byte[] bytes = response.body();
+                bodySize = bytes.length;
+                body = CapturedRequest.truncate(bytes, this.maxBodySize);
+            } catch (PlaywrightException e) {
+                // redirects and some cached responses have no body.
+            }
+        }
+        captured.finished(duration(request.timing()), bodySize, body);
+    }
+
+    private void failed(Request request) {
+        CapturedRequest captured;
+        synchronized (this) {
+            captured = this.inFlight.remove(request);
+            this.responses.remove(request);
+        }
+        if (captured != null) {
+            captured.failed(request.failure(), duration(request.timing()));
+        }
+    }
+
+    private static Duration duration(Timing timing) {
+        return Duration.ofNanos((long) (Math.max(0, timing.responseEnd) * 1_000_000));
+    }
+
+    private static long parseLength(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Reading
+
+    /**
+     * Copy of recorded requests, the oldest first.
+     *
+     * @return List of CapturedRequest
+     */
+    public synchronized List<CapturedRequest> getRequests() {
+        return new ArrayList<>(this.requests);
+    }
+
+    /**
+     * Recorded requests with url matching glob pattern or equal to it,
+     * relative pattern is resolved against base url of context.
+     *
+     * @param globPattern of url
+     * @return List of CapturedRequest
+     */
+    public List<CapturedRequest> getRequests(String globPattern) {
+        Predicate<String> pattern = urlMatcher(globPattern);
+        return getRequests(request -> pattern.test(request.getUrl()));
+    }
+
+    /**
+     * Url predicate of glob pattern resolved against base url of captured context.
+     *
+     * @param globPattern of url
+     * @return url predicate
+     */
+    Predicate<String> urlMatcher(String globPattern) {
+        return GlobPattern.urlMatcher(this.baseUrl, globPattern);
+    }
+
+    /**
+     * Recorded requests which pass filter.
+     *
+     * @param filter of requests
+     * @return List of CapturedRequest
+     */
+    public synchronized List<CapturedRequest> getRequests(Predicate<CapturedRequest> filter) {
+        return this.requests.stream().filter(filter).collect(Collectors.toList());
+    }
+
+    /**
+     * Amount of recorded requests which pass filter.
+     *
+     * @param filter of requests
+     * @return long
+     */
+    public synchronized long count(Predicate<CapturedRequest> filter) {
+        long count = 0;
+        for (CapturedRequest request : this.requests) {
+            if (filter.test(request)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Amount of requests dropped from buffer because it was full.
+     *
+     * @return long
+     */
+    public synchronized long getDropped() {
+        return this.dropped;
+    }
+
+    /**
+     * Getter
+     *
+     * @return max amount of recorded requests.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Forgets recorded requests and requests in flight, capture continues.
+     */
+    public synchronized void clear() {
+        this.requests.clear();
+        this.inFlight.clear();
+        this.responses.clear();
+        this.dropped = 0;
+    }
+
+}
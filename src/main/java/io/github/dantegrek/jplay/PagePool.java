@@ -0,0 +1,83 @@
+package io.github.dantegrek.jplay;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+import java.util.*;
+
+/**
+ * This class keeps blank pages created in advance for each context, so 'openNewTab()' only switches to one of them.
+ * Pooled pages are hidden from actor tab methods till they are taken.
+ * Refilling is synchronous, playwright objects can be used only by actor thread, so pool is refilled right after
+ * page is taken or closed: the page needed now is instant, creation of its replacement is paid by the same call.
+ */
+final class PagePool {
+
+    private final Map<BrowserContext, Deque<Page>> warmPages = new IdentityHashMap<>();
+
+    /**
+     * Creates blank pages in context till pool has poolSize pages.
+     *
+     * @param context       to create pages in
+     * @param configuration timeouts and pool size
+     */
+    void refill(BrowserContext context, Configuration configuration) {
+        int poolSize = configuration.getPagePoolSize();
+        if (poolSize < 1 || context == null) {
+            return;
+        }
+        Deque<Page> pages = this.warmPages.get(context);
+        if (pages == null) {
+            pages = new ArrayDeque<>();
+            this.warmPages.put(context, pages);
+            context.onClose(this.warmPages::remove);
+        }
+        pages.removeIf(Page::isClosed);
+        while (pages.size() < poolSize) {
+            pages.add(applyTimeouts(context.newPage(), configuration));
+        }
+    }
+
+    /**
+     * Takes warm page of context.
+     *
+     * @param context       of page
+     * @param configuration timeouts which should be applied on page
+     * @return instance of Page or null if pool is empty
+     */
+    Page take(BrowserContext context, Configuration configuration) {
+        Deque<Page> pages = this.warmPages.get(context);
+        while (pages != null && !pages.isEmpty()) {
+            Page page = pages.poll();
+            if (!page.isClosed()) {
+                // timeouts could be changed after page was created.
+                return applyTimeouts(page, configuration);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if page waits in pool.
+     *
+     * @param page any page
+     * @return boolean
+     */
+    boolean isPooled(Page page) {
+        Deque<Page> pages = this.warmPages.get(page.context());
+        return pages != null && pages.contains(page);
+    }
+
+    /**
+     * Forgets all pages, should be called when browser is closed.
+     */
+    void clear() {
+        this.warmPages.clear();
+    }
+
+    static Page applyTimeouts(Page page, Configuration configuration) {
+        page.setDefaultNavigationTimeout(configuration.getDefaultNavigationTimeout());
+        page.setDefaultTimeout(configuration.getDefaultTimeout());
+        return page;
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.dantegrek.jplay;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Helper for playwright option classes like LaunchOptions or NewContextOptions,
+ * all of them keep values in public fields.
+ */
+final class PlaywrightOptions {
+
+    private PlaywrightOptions() {
+    }
+
+    private static List<Field> publicFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : type.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fields.add(field);
+            }
+        }
+        fields.sort(Comparator.comparing(Field::getName));
+        return fields;
+    }
+
+    private static Object read(Field field, Object options) {
+        try {
+            return field.get(options);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Can not read option '" + field.getName() + "'.", e);
+        }
+    }
+
+    /**
+     * Converts options to json with sorted keys, null values are skipped.
+     *
+     * @param options any playwright options object
+     * @return JsonObject
+     */
+    static JsonObject toJson(Object options) {
+        JsonObject json = new JsonObject();
+        if (options == null) {
+            return json;
+        }
+        for (Field field : publicFields(options.getClass())) {
+            Object value = read(field, options);
+            if (value != null) {
+                json.add(field.getName(), toJsonValue(value));
+            }
+        }
+        return json;
+    }
+
+    private static JsonElement toJsonValue(Object value) {
+        if (value == null) {
+            return JsonNull.INSTANCE;
+        } else if (value instanceof Optional) {
+            return toJsonValue(((Optional<?>) value).orElse(null));
+        } else if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        } else if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        } else if (value instanceof String) {
+            return new JsonPrimitive((String) value);
+        } else if (value instanceof Enum) {
+            // playwright serializes enums in lower case with dashes, e.g. NO_PREFERENCE -> no-preference
+            return new JsonPrimitive(((Enum<?>) value).name().toLowerCase().replace('_', '-'));
+        } else if (value instanceof Path) {
+            return new JsonPrimitive(value.toString());
+        } else if (value instanceof Collection) {
+            JsonArray array = new JsonArray();
+            ((Collection<?>) value).forEach(item -> array.add(toJsonValue(item)));
+            return array;
+        } else if (value instanceof Map) {
+            JsonObject object = new JsonObject();
+            new TreeMap<>((Map<?, ?>) value).forEach((key, item) -> object.add(String.valueOf(key), toJsonValue(item)));
+            return object;
+        }
+        return toJson(value);
+    }
+
+    /**
+     * Stable string which is equal for options with equal values.
+     *
+     * @param options any playwright options object
+     * @return fingerprint as String
+     */
+    static String fingerprint(Object options) {
+        return toJson(options).toString();
+    }
+
+    /**
+     * Deep copy of options, lists, maps and nested option objects like ViewportSize or Proxy are copied too,
+     * so changes in original do not affect copy. JDK values like String, numbers, enums and Path are immutable.
+     *
+     * @param options any playwright options object
+     * @param <T>     type of options
+     * @return copy of options
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T options) {
+        try {
+            T copy = (T) newInstance(options.getClass());
+            for (Field field : publicFields(options.getClass())) {
+                if (!Modifier.isFinal(field.getModifiers())) {
+                    field.set(copy, copyValue(read(field, options)));
+                }
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Can not copy " + options.getClass().getSimpleName() + ".", e);
+        }
+    }
+
+    private static Object copyValue(Object value) {
+        if (value == null || value instanceof Enum || (value.getClass().getName().startsWith("java.")
+                && !(value instanceof Optional || value instanceof Collection || value instanceof Map))) {
+            return value;
+        } else if (value instanceof Optional) {
+            return Optional.ofNullable(copyValue(((Optional<?>) value).orElse(null)));
+        } else if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            ((List<?>) value).forEach(item -> list.add(copyValue(item)));
+            return list;
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, item) -> map.put(key, copyValue(item)));
+            return map;
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        } else if (value.getClass().isArray() || value instanceof Collection) {
+            // other arrays and collections are not used by playwright options.
+            return value;
+        }
+        return copy(value);
+    }
+
+    // nested options like ViewportSize have only constructors with required values, fields are set after it.
+    private static Object newInstance(Class<?> type) throws ReflectiveOperationException {
+        Constructor<?> shortest = null;
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (shortest == null || constructor.getParameterCount() < shortest.getParameterCount()) {
+                shortest = constructor;
+            }
+        }
+        if (shortest == null) {
+            throw new NoSuchMethodException(type.getName() + " has no public constructor.");
+        }
+        Class<?>[] parameters = shortest.getParameterTypes();
+        Object[] arguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            arguments[i] = defaultValue(parameters[i]);
+        }
+        return shortest.newInstance(arguments);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == double.class) {
+            return 0d;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.dantegrek.jplay;
+
+import com.microsoft.playwright.Playwright;
+import io.github.dantegrek.enums.DriverScope;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class keeps reference counted playwright drivers, so each browser launch does not spawn new driver process.
+ * Driver of THREAD scope is closed when its last browser is closed. Drivers of explicit JVM and ACTOR scopes
+ * are kept without references for next launch in the same scope, ACTOR driver is closed by 'Actor.close()',
+ * JVM driver when JVM shuts down.
+ */
+final class PlaywrightPool {
+
+    private static final Object JVM_KEY = new Object();
+    private static final Map<Object, Lease> leases = new HashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PlaywrightPool::closeAll, "jplay-playwright-pool"));
+    }
+
+    private PlaywrightPool() {
+    }
+
+    /**
+     * One driver with amount of browsers which use it.
+     */
+    private static final class Lease {
+        private Playwright playwright;
+        private int references;
+
+        private synchronized Playwright playwright() {
+            if (this.playwright == null) {
+                this.playwright = Playwright.create();
+            }
+            return this.playwright;
+        }
+
+        private synchronized void close() {
+            if (this.playwright != null) {
+                this.playwright.close();
+                this.playwright = null;
+            }
+        }
+    }
+
+    /**
+     * Key of scope for current thread, it can be computed in one thread and used by other one.
+     *
+     * @param scope in which driver is shared
+     * @param owner of driver in ACTOR scope
+     * @return key of scope
+     */
+    static Object scopeKey(DriverScope scope, Object owner) {
+        switch (scope) {
+            case JVM:
+                return JVM_KEY;
+            case ACTOR:
+                return owner;
+            default:
+                return Thread.currentThread();
+        }
+    }
+
+    /**
+     * Returns driver for current scope, creates new one if scope does not have it yet.
+     *
+     * @param scope in which driver is shared
+     * @param owner of driver in ACTOR scope
+     * @return instance of Playwright
+     */
+    static Playwright lease(DriverScope scope, Object owner) {
+        return lease(scopeKey(scope, owner));
+    }
+
+    /**
+     * Returns driver for scope key, creates new one if scope does not have it yet.
+     *
+     * @param scopeKey computed by 'scopeKey(scope, owner)'
+     * @return instance of Playwright
+     */
+    static Playwright lease(Object scopeKey) {
+        Lease lease;
+        synchronized (PlaywrightPool.class) {
+            closeDriversOfDeadThreads();
+            lease = leases.computeIfAbsent(scopeKey, key -> new Lease());
+            lease.references++;
+        }
+        try {
+            // driver is created outside of pool lock, so threads do not wait on each other.
+            return lease.playwright();
+        } catch (RuntimeException e) {
+            synchronized (PlaywrightPool.class) {
+                lease.references--;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns driver back to pool. Driver of thread is closed when it has no references anymore,
+     * driver of JVM or ACTOR scope stays alive for next browser in the same scope.
+     *
+     * @param playwright leased driver
+     */
+    static void release(Playwright playwright) {
+        if (playwright == null) {
+            return;
+        }
+        Lease unused = null;
+        synchronized (PlaywrightPool.class) {
+            Iterator<Map.Entry<Object, Lease>> iterator = leases.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Object, Lease> entry = iterator.next();
+                Lease lease = entry.getValue();
+                if (lease.playwright == playwright && lease.references > 0) {
+                    if (--lease.references == 0 && entry.getKey() instanceof Thread) {
+                        iterator.remove();
+                        unused = lease;
+                    }
+                    break;
+                }
+            }
+        }
+        // driver process is closed outside of pool lock, so other threads can lease meanwhile.
+        if (unused != null) {
+            unused.close();
+        }
+    }
+
+    /**
+     * Closes all drivers which are not used by any browser.
+     */
+    static void closeIdle() {
+        List<Lease> idle = new ArrayList<>();
+        synchronized (PlaywrightPool.class) {
+            Iterator<Lease> iterator = leases.values().iterator();
+            while (iterator.hasNext()) {
+                Lease lease = iterator.next();
+                if (lease.references == 0) {
+                    idle.add(lease);
+                    iterator.remove();
+                }
+            }
+        }
+        idle.forEach(Lease::close);
+    }
+
+    /**
+     * Closes driver leased in ACTOR scope by owner, driver is kept if browser still uses it.
+     *
+     * @param owner of driver
+     */
+    static void closeOwned(Object owner) {
+        Lease lease;
+        synchronized (PlaywrightPool.class) {
+            lease = leases.get(owner);
+            if (lease == null || lease.references > 0) {
+                return;
+            }
+            leases.remove(owner);
+        }
+        lease.close();
+    }
+
+    private static void closeDriversOfDeadThreads() {
+        Iterator<Map.Entry<Object, Lease>> iterator = leases.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Lease> entry = iterator.next();
+            if (entry.getKey() instanceof Thread && !((Thread) entry.getKey()).isAlive()) {
+                entry.getValue().close();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void closeAll() {
+        List<Lease> all;
+        synchronized (PlaywrightPool.class) {
+            all = new ArrayList<>(leases.values());
+            leases.clear();
+        }
+        for (Lease lease : all) {
+            try {
+                lease.close();
+            } catch (RuntimeException ignored) {
+                // driver process could be already gone during JVM shutdown.
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.dantegrek.jplay;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Route;
+import io.github.dantegrek.enums.NetworkErrorCode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Blocking policy of one context enforced by single route. Route is put once per context, recycled context
+ * gets policy of configuration it is reused with. Route is added when context is created, so routes of Mock
+ * and Request added later are checked first. With context recycling route is added to each created context even
+ * without policy, because policy of later reuse must not be put after routes of Mock and Request.
+ */
+final class RequestBlocker {
+
+    private static final Map<BrowserContext, RequestBlocker> blockers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private volatile Policy policy;
+    private volatile BlockedRequests blocked = new BlockedRequests();
+
+    private RequestBlocker() {
+    }
+
+    private static final class Policy {
+        private final Set<String> resourceTypes;
+        private final List<String> hosts;
+        private final List<String> urls;
+        private final List<Predicate<String>> urlMatchers;
+
+        private Policy(Configuration configuration) {
+            this.resourceTypes = configuration.getBlockedResourceTypes().stream()
+                    .map(type -> type.type)
+                    .collect(Collectors.toSet());
+            this.hosts = configuration.getBlockedHosts().stream()
+                    .map(String::toLowerCase)
+                    .collect(Collectors.toList());
+            this.urls = new ArrayList<>(configuration.getBlockedUrls());
+            String baseUrl = configuration.getContextOptions().baseURL;
+            this.urlMatchers = this.urls.stream()
+                    .map(url -> GlobPattern.urlMatcher(baseUrl, url))
+                    .collect(Collectors.toList());
+        }
+
+        private boolean isEmpty() {
+            return this.resourceTypes.isEmpty() && this.hosts.isEmpty() && this.urls.isEmpty();
+        }
+
+        // resource type is known only in handler, so with blocked types all requests come to handler.
+        private boolean matches(String url) {
+            return !this.resourceTypes.isEmpty() || urlRule(url) != null;
+        }
+
+        private String urlRule(String url) {
+            if (!this.hosts.isEmpty()) {
+                String host = host(url);
+                for (String blocked : this.hosts) {
+                    if (host.equals(blocked) || (host.endsWith(blocked)
+                            && host.charAt(host.length() - blocked.length() - 1) == '.')) {
+                        return BlockedRequests.hostRule(blocked);
+                    }
+                }
+            }
+            for (int i = 0; i < this.urlMatchers.size(); i++) {
+                if (this.urlMatchers.get(i).test(url)) {
+                    return BlockedRequests.urlRule(this.urls.get(i));
+                }
+            }
+            return null;
+        }
+
+        private String rule(String url, String resourceType) {
+            if (this.resourceTypes.contains(resourceType)) {
+                return BlockedRequests.resourceTypeRule(resourceType);
+            }
+            return urlRule(url);
+        }
+    }
+
+    /**
+     * Applies blocking policy of configuration to context, counters of context start from zero.
+     *
+     * @param context       created or recycled context
+     * @param configuration of actor
+     */
+    static void apply(BrowserContext context, Configuration configuration) {
+        Policy policy = new Policy(configuration);
+        RequestBlocker blocker;
+        synchronized (blockers) {
+            blocker = blockers.get(context);
+            if (blocker == null) {
+                if (policy.isEmpty() && !configuration.getWithContextRecycling()) {
+                    return;
+                }
+                blocker = new RequestBlocker();
+                blockers.put(context, blocker);
+                RequestBlocker contextBlocker = blocker;
+                context.route(contextBlocker::matches, contextBlocker::handle);
+            }
+        }
+        blocker.blocked = new BlockedRequests();
+        blocker.policy = policy;
+    }
+
+    /**
+     * Counters of context.
+     *
+     * @param context of actor
+     * @return instance of BlockedRequests, empty if context has no blocking policy
+     */
+    static BlockedRequests blocked(BrowserContext context) {
+        RequestBlocker blocker = blockers.get(context);
+        return blocker == null ? new BlockedRequests() : blocker.blocked;
+    }
+
+    /**
+     * Aborts route if policy of context blocks its request, routes of tasks call it before they resume request,
+     * because resumed request does not come to route of policy.
+     *
+     * @param context of route
+     * @param route   intercepted route
+     * @return true if route was aborted
+     */
+    static boolean abortIfBlocked(BrowserContext context, Route route) {
+        RequestBlocker blocker = blockers.get(context);
+        return blocker != null && blocker.block(route);
+    }
+
+    private boolean matches(String url) {
+        Policy current = this.policy;
+        return current != null && current.matches(url);
+    }
+
+    private void handle(Route route) {
+        if (!block(route)) {
+            route.resume();
+        }
+    }
+
+    private boolean block(Route route) {
+        Policy current = this.policy;
+        String url = route.request().url();
+        String rule = current == null ? null : current.rule(url, route.request().resourceType());
+        if (rule == null) {
+            return false;
+        }
+        this.blocked.record(rule, url);
+        route.abort(NetworkErrorCode.BLOCKED_BY_CLIENT.code);
+        return true;
+    }
+
+    // host without scheme, user info and port, it is cheaper than parsing whole url.
+    private static String host(String url) {
+        int start = url.indexOf("://");
+        start = start < 0 ? 0 : start + 3;
+        int end = start;
+        while (end < url.length() && "/?#".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+        String authority = url.substring(start, end);
+        authority = authority.substring(authority.lastIndexOf('@') + 1);
+        int port = authority.lastIndexOf(':');
+        if (port >= 0 && authority.indexOf(']') < port) {
+            authority = authority.substring(0, port);
+        }
+        return authority.toLowerCase();
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.dantegrek.jplay;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one Mock, Request or HarReplay route. Route handlers are called on driver thread while test reads
+ * counters, so all of them are lock free. Latency is time route handler took to fulfill, resume or abort request,
+ * it is kept in histogram with power of two microsecond buckets.
+ */
+public final class RouteStats {
+
+    private static final int BUCKETS = 40;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder methodMisses = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+    // bucket i counts latencies from 2^(i-1) till 2^i microseconds, bucket 0 latencies under one microsecond.
+    private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records request handled by route.
+     *
+     * @param latency of route handler in nanoseconds
+     */
+    public void recordHit(long latency) {
+        this.hits.increment();
+        this.totalLatency.add(latency);
+        this.maxLatency.accumulate(latency);
+        this.latencies.incrementAndGet(bucket(latency));
+    }
+
+    /**
+     * Records request which matched url of route but not its REST method.
+     */
+    public void recordMethodMiss() {
+        this.methodMisses.increment();
+    }
+
+    private static int bucket(long latency) {
+        long micros = latency / 1000;
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Amount of requests handled by route.
+     *
+     * @return long
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Amount of requests which matched url of route, but were not handled because of other REST method
+     * given in 'forMethod(method)'.
+     *
+     * @return long
+     */
+    public long getMethodMisses() {
+        return this.methodMisses.sum();
+    }
+
+    /**
+     * Average time route handler took.
+     *
+     * @return Duration, zero if route was not hit
+     */
+    public Duration getAverageLatency() {
+        long hits = getHits();
+        return Duration.ofNanos(hits == 0 ? 0 : this.totalLatency.sum() / hits);
+    }
+
+    /**
+     * Longest time route handler took.
+     *
+     * @return Duration
+     */
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(this.maxLatency.get());
+    }
+
+    /**
+     * Upper bound of latency percentile, precision is power of two microseconds.
+     *
+     * @param percentile from 0 till 100
+     * @return Duration, zero if route was not hit
+     */
+    public Duration getLatencyPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new RuntimeException("Percentile should be from 0 till 100, but was " + percentile + ".");
+        }
+        long[] histogram = getLatencyHistogram();
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                Duration upperBound = Duration.ofNanos((1L << i) * 1000);
+                return upperBound.compareTo(getMaxLatency()) < 0 ? upperBound : getMaxLatency();
+            }
+        }
+        return getMaxLatency();
+    }
+
+    /**
+     * Copy of latency histogram, element i is amount of requests handled in less than 2^i microseconds
+     * and at least 2^(i-1) microseconds.
+     *
+     * @return array of long
+     */
+    public long[] getLatencyHistogram() {
+        long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = this.latencies.get(i);
+        }
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, methodMisses=%d, avg=%s, p95=%s, max=%s", getHits(), getMethodMisses(),
+                getAverageLatency(), getLatencyPercentile(95), getMaxLatency());
+    }
+}
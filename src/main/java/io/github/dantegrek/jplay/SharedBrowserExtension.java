@@ -0,0 +1,39 @@
+package io.github.dantegrek.jplay;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * JUnit 5 extension for parallel test threads. Actor of each test thread connects to one browser per browser name
+ * shared by all threads and works in own context. Browser of actor is disconnected after each test,
+ * shared browsers are closed when all tests are finished.
+ * <pre>
+ * &#64;ExtendWith(SharedBrowserExtension.class)
+ * public class MyTest { ... }
+ * </pre>
+ */
+public class SharedBrowserExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SharedBrowserExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        // root store is closed after last test of run.
+        context.getRoot()
+                .getStore(NAMESPACE)
+                .getOrComputeIfAbsent(SharedBrowsers.class,
+                        key -> (ExtensionContext.Store.CloseableResource) SharedBrowsers::closeAll);
+        Actor.actor()
+                .browserConfig()
+                .withSharedBrowser(true);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Actor actor = Actor.actor();
+        if (actor.hasBrowser()) {
+            actor.closeBrowser();
+        }
+    }
+}
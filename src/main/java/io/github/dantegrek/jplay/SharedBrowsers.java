@@ -0,0 +1,78 @@
+package io.github.dantegrek.jplay;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Browser servers shared by all actors of JVM, one per browser name and launch options.
+ * Server is launched once by playwright cli 'launch-server', each actor connects to it with driver of own thread
+ * and works in own context, so parallel test threads do not launch browser process each.
+ */
+public final class SharedBrowsers {
+
+    private static final Map<String, BrowserServer> servers = new HashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SharedBrowsers::closeAll, "jplay-shared-browsers-shutdown"));
+    }
+
+    private SharedBrowsers() {
+    }
+
+    /**
+     * Closes all shared browsers, actors which are still connected lose their browsers.
+     */
+    public static void closeAll() {
+        List<BrowserServer> toClose;
+        synchronized (SharedBrowsers.class) {
+            toClose = new ArrayList<>(servers.values());
+            servers.clear();
+        }
+        toClose.forEach(BrowserServer::close);
+    }
+
+    /**
+     * Amount of running shared browsers.
+     *
+     * @return int
+     */
+    public static synchronized int count() {
+        return (int) servers.values().stream().filter(BrowserServer::isAlive).count();
+    }
+
+    /**
+     * Connects to shared browser, browser is launched by first actor which needs it.
+     *
+     * @param playwright    driver of current thread
+     * @param snapshot   of configuration with browser name and launch options
+     * @return instance of Browser, closing it only disconnects actor and closes its contexts.
+     */
+    static Browser connect(Playwright playwright, ConfigurationSnapshot snapshot) {
+        return BrowserServer.connect(playwright, snapshot.getBrowserName(), endpoint(snapshot), snapshot.launchOptions());
+    }
+
+    private static synchronized String endpoint(ConfigurationSnapshot snapshot) {
+        String key = snapshot.getBrowserFingerprint();
+        BrowserServer server = servers.get(key);
+        if (server == null || !server.isAlive()) {
+            server = BrowserServer.launch(snapshot.getBrowserName(), snapshot.launchOptions(), log());
+            servers.put(key, server);
+        }
+        return server.getWsEndpoint();
+    }
+
+    private static Path log() {
+        try {
+            Path log = Files.createTempFile("jplay-shared-browser", ".log");
+            log.toFile().deleteOnExit();
+            return log;
+        } catch (IOException e) {
+            throw new RuntimeException("Can not create log file of shared browser.", e);
+        }
+    }
+}
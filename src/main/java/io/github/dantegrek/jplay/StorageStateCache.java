@@ -0,0 +1,168 @@
+package io.github.dantegrek.jplay;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of logged-in storage states by key, e.g. user or role. Login task is performed once per key,
+ * captured state is kept in memory and optionally on disk, so other forks and next runs reuse it till it expires.
+ */
+public final class StorageStateCache {
+
+    private static final Map<String, CachedState> states = new ConcurrentHashMap<>();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private static volatile Path dir;
+    private static volatile Duration maxAge;
+
+    private StorageStateCache() {
+    }
+
+    /**
+     * Storage state with time it was captured.
+     */
+    private static final class CachedState {
+        private final String state;
+        private final Instant capturedAt;
+
+        private CachedState(String state, Instant capturedAt) {
+            this.state = state;
+            this.capturedAt = capturedAt;
+        }
+
+        private boolean isExpired() {
+            Duration age = maxAge;
+            return age != null && this.capturedAt.plus(age).isBefore(Instant.now());
+        }
+    }
+
+    // Settings
+
+    /**
+     * Sets directory where storage states are saved, so they survive end of JVM.
+     *
+     * @param directory null by default, states are kept only in memory.
+     */
+    public static void withDir(Path directory) {
+        dir = directory;
+    }
+
+    /**
+     * Sets time after which storage state is captured again, e.g. because session expires on server.
+     *
+     * @param age null by default, states never expire.
+     */
+    public static void withMaxAge(Duration age) {
+        maxAge = age;
+    }
+
+    /**
+     * Forgets storage state of key, next context with this key performs login again.
+     *
+     * @param key of storage state
+     */
+    public static void invalidate(String key) {
+        synchronized (lock(key)) {
+            states.remove(key);
+            Path file = file(key);
+            if (file != null) {
+                file.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Forgets all storage states in memory, files on disk are kept.
+     */
+    public static void clear() {
+        states.clear();
+    }
+
+    // Cache
+
+    private static Object lock(String key) {
+        return locks.computeIfAbsent(key, k -> new Object());
+    }
+
+    private static Path file(String key) {
+        Path directory = dir;
+        return directory == null ? null : directory.resolve(key.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+
+    /**
+     * Returns storage state of key, login is executed only when there is no valid state in memory or on disk.
+     * Threads which need the same key wait till first of them logs in.
+     *
+     * @param key   of storage state
+     * @param login captures storage state
+     * @return storage state json
+     */
+    static String get(String key, Supplier<String> login) {
+        CachedState cached = states.get(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached.state;
+        }
+        synchronized (lock(key)) {
+            cached = states.get(key);
+            if (cached == null || cached.isExpired()) {
+                cached = read(key);
+            }
+            if (cached == null || cached.isExpired()) {
+                cached = new CachedState(login.get(), Instant.now());
+                write(key, cached);
+            }
+            states.put(key, cached);
+            return cached.state;
+        }
+    }
+
+    private static CachedState read(String key) {
+        Path file = file(key);
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+        try {
+            return new CachedState(new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+                    Files.getLastModifiedTime(file).toInstant());
+        } catch (IOException e) {
+            // unreadable file is replaced by new login.
+            return null;
+        }
+    }
+
+    private static void write(String key, CachedState cached) {
+        Path file = file(key);
+        if (file == null) {
+            return;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            // other forks read the same directory, so state appears there only as complete file.
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, cached.state.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new RuntimeException("Can not save storage state '" + key + "' to '" + file + "'.", e);
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+            // temporary file is left in cache directory, it is never read.
+        }
+    }
+}
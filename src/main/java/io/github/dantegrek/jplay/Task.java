@@ -6,4 +6,19 @@ package io.github.dantegrek.jplay;
  */
 public abstract class Task extends AbstractActivity implements ITask {
 
+    /**
+     * Task of current thread actor.
+     */
+    protected Task() {
+        super();
+    }
+
+    /**
+     * Task of explicit actor.
+     *
+     * @param actor which performs task
+     */
+    protected Task(Actor actor) {
+        super(actor);
+    }
 }
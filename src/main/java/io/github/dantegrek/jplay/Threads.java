@@ -0,0 +1,34 @@
+package io.github.dantegrek.jplay;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread helpers which differ between java versions, Java 21+ version of this class
+ * is in 'src/main/java21' and is packed to multi-release jar.
+ */
+final class Threads {
+
+    private Threads() {
+    }
+
+    /**
+     * Executor for named actors.
+     *
+     * @return cached pool of daemon threads before Java 21
+     */
+    static ExecutorService newExecutor() {
+        return Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "jplay-actor-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
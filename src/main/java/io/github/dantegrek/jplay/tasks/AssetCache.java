@@ -0,0 +1,199 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.Route;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Static assets like scripts, styles and fonts shared by all contexts of JVM, see CacheAssets task.
+ * Asset is stored when browser finished loading it the first time, next contexts get it without network.
+ * Least recently used assets are evicted when cache is bigger than max size.
+ */
+public final class AssetCache {
+
+    // Driver sets length and encoding itself, cookies belong to context which loaded asset.
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "content-encoding",
+            "transfer-encoding", "set-cookie");
+
+    private static final Map<String, Asset> assets = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Set<Request> pending = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final Set<BrowserContext> listened = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static long size;
+    private static volatile long maxSize = 128L * 1024 * 1024;
+
+    private AssetCache() {
+    }
+
+    private static final class Asset {
+        private final Route.FulfillOptions response;
+        private final long length;
+
+        private Asset(Route.FulfillOptions response, long length) {
+            this.response = response;
+            this.length = length;
+        }
+    }
+
+    // Settings
+
+    /**
+     * Sets max size of all cached assets.
+     *
+     * @param bytes 128 MB by default, 0 disables cache.
+     */
+    public static void withMaxSize(long bytes) {
+        if (bytes < 0) {
+            throw new RuntimeException("Max size of asset cache can not be negative.");
+        }
+        maxSize = bytes;
+        synchronized (AssetCache.class) {
+            evict();
+        }
+    }
+
+    /**
+     * Forgets all cached assets.
+     */
+    public static synchronized void clear() {
+        assets.clear();
+        size = 0;
+    }
+
+    /**
+     * Amount of requests fulfilled from cache.
+     *
+     * @return long
+     */
+    public static long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Amount of requests which went to network because asset was not cached yet.
+     *
+     * @return long
+     */
+    public static long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Size of cached bodies.
+     *
+     * @return bytes as long
+     */
+    public static synchronized long size() {
+        return size;
+    }
+
+    // Assets
+
+    /**
+     * Returns cached response of url and counts hit or miss.
+     *
+     * @param url of asset
+     * @return fulfill options shared by all requests or null
+     */
+    static Route.FulfillOptions get(String url) {
+        Asset asset;
+        synchronized (AssetCache.class) {
+            asset = assets.get(url);
+        }
+        if (asset == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return asset.response;
+    }
+
+    /**
+     * Stores response of request when browser finished loading it.
+     *
+     * @param context of request
+     * @param request which was resumed to network
+     */
+    static void fill(BrowserContext context, Request request) {
+        if (maxSize == 0) {
+            return;
+        }
+        if (listened.add(context)) {
+            context.onRequestFinished(AssetCache::store);
+        }
+        pending.add(request);
+    }
+
+    private static void store(Request request) {
+        if (!pending.remove(request)) {
+            return;
+        }
+        byte[] body;
+        Map<String, String> headers;
+        int status;
+        try {
+            Response response = request.response();
+            if (response == null) {
+                return;
+            }
+            status = response.status();
+            headers = response.allHeaders();
+            if (status != 200 || headers.getOrDefault("cache-control", "").contains("no-store")) {
+                return;
+            }
+            body = response.body();
+        } catch (PlaywrightException e) {
+            // context was closed or browser dropped body, asset is stored next time.
+            return;
+        }
+        Map<String, String> kept = new LinkedHashMap<>();
+        headers.forEach((name, value) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase()) && !name.startsWith(":")) {
+                kept.put(name, value);
+            }
+        });
+        PayloadCache.Payload payload = PayloadCache.of(body);
+        Route.FulfillOptions options = new Route.FulfillOptions()
+                .setStatus(status)
+                .setHeaders(kept);
+        if (payload.getText() != null) {
+            options.setBody(payload.getText());
+        } else {
+            options.setBodyBytes(payload.getBytes());
+        }
+        put(request.url(), new Asset(options, body.length));
+    }
+
+    private static synchronized void put(String url, Asset asset) {
+        Asset previous = assets.remove(url);
+        if (previous != null) {
+            size -= previous.length;
+        }
+        if (asset.length <= maxSize) {
+            assets.put(url, asset);
+            size += asset.length;
+            evict();
+        }
+    }
+
+    private static void evict() {
+        Iterator<Asset> eldest = assets.values().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            size -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Route;
+import io.github.dantegrek.enums.ResourceType;
+import io.github.dantegrek.enums.RestMethod;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fulfills GET requests of static assets from AssetCache shared by all contexts of JVM,
+ * so each new context does not download the same scripts, styles and fonts again.
+ * Requests of other resource types go to routes added earlier, e.g. to Mock of api.
+ * Requests blocked by 'withBlockedResourceTypes()' or 'withBlockedHosts()' are aborted, not cached.
+ */
+public final class CacheAssets extends NetworkRoute<CacheAssets> {
+
+    private static final String ALL_URLS = "**";
+
+    private Set<ResourceType> resourceTypes = EnumSet.of(ResourceType.SCRIPT, ResourceType.STYLESHEET,
+            ResourceType.FONT, ResourceType.IMAGE);
+
+    private CacheAssets() {
+    }
+
+    /**
+     * Syntax sugar, creates instance of CacheAssets
+     *
+     * @return instance of CacheAssets
+     */
+    public static CacheAssets cacheAssets() {
+        return new CacheAssets();
+    }
+
+    /**
+     * Sets resource types which are cached.
+     *
+     * @param resourceTypes SCRIPT, STYLESHEET, FONT and IMAGE by default
+     * @return instance of CacheAssets
+     */
+    public CacheAssets forResourceTypes(ResourceType... resourceTypes) {
+        if (resourceTypes.length == 0) {
+            throw new RuntimeException("At least one resource type should be cached.");
+        }
+        this.resourceTypes = EnumSet.copyOf(Arrays.asList(resourceTypes));
+        return this;
+    }
+
+    private void fulfillFromCache(BrowserContext context, Route route) {
+        if (abortIfBlocked(context, route)) {
+            return;
+        }
+        Route.FulfillOptions cached = AssetCache.get(route.request().url());
+        if (cached != null) {
+            route.fulfill(cached);
+        } else {
+            AssetCache.fill(context, route.request());
+            route.resume();
+        }
+    }
+
+    @Override
+    public void perform() {
+        resolveTarget();
+        if (this.url == null && this.urlPredicate == null) {
+            this.url = ALL_URLS;
+        }
+        if (this.restMethod != null && this.restMethod != RestMethod.GET) {
+            throw new RuntimeException("Only GET requests can be cached.");
+        }
+        this.restMethod = RestMethod.GET;
+        Set<String> types = this.resourceTypes.stream().map(type -> type.type).collect(Collectors.toSet());
+        BrowserContext context = isPageNotNull() ? this.page.context() : this.context;
+        addRoute(route -> fulfillFromCache(context, route), 0,
+                request -> types.contains(request.resourceType()));
+    }
+}
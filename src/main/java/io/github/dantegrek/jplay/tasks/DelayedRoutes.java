@@ -0,0 +1,207 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Route;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Routes of one context which are completed later. Playwright objects can be used only by thread of actor,
+ * so route handler never sleeps, it puts route to queue and starts timer in frame of request or in any page
+ * of context, navigating frame is used only if no other document can run timer. Timer calls exposed binding, binding is dispatched by driver while actor thread waits for anything
+ * else, e.g. for selector or navigation, and completes all routes which are due. Timer dies with its document,
+ * so it is started again for the earliest pending route when page of context navigates, is opened or closed,
+ * and due routes are also completed by every request which comes to route table of context.
+ */
+final class DelayedRoutes {
+
+    private static final String BINDING = "__jplayRouteTimer";
+    private static final String JS_START_TIMER =
+            "delay => { setTimeout(() => window." + BINDING + " && window." + BINDING + "(), delay); }";
+    private static final Map<BrowserContext, DelayedRoutes> queues = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final BrowserContext context;
+    private final PriorityQueue<Pending> pending = new PriorityQueue<>();
+    private long sequence;
+
+    private DelayedRoutes(BrowserContext context) {
+        this.context = context;
+    }
+
+    private static final class Pending implements Comparable<Pending> {
+        private final long due;
+        private final long order;
+        private final Route route;
+        private final Consumer<Route> handler;
+
+        private Pending(long due, long order, Route route, Consumer<Route> handler) {
+            this.due = due;
+            this.order = order;
+            this.route = route;
+            this.handler = handler;
+        }
+
+        @Override
+        public int compareTo(Pending other) {
+            int byDue = Long.compare(this.due - other.due, 0);
+            return byDue != 0 ? byDue : Long.compare(this.order, other.order);
+        }
+    }
+
+    /**
+     * Queue of context, binding is exposed and pages are watched on first usage.
+     *
+     * @param context of routes
+     * @return instance of DelayedRoutes
+     */
+    static DelayedRoutes of(BrowserContext context) {
+        synchronized (queues) {
+            DelayedRoutes routes = queues.get(context);
+            if (routes == null) {
+                routes = new DelayedRoutes(context);
+                queues.put(context, routes);
+                DelayedRoutes contextRoutes = routes;
+                context.exposeBinding(BINDING, (source, args) -> {
+                    contextRoutes.completeDue();
+                    contextRoutes.restartTimer(source.frame());
+                    return null;
+                });
+                context.onPage(contextRoutes::watch);
+                context.pages().forEach(contextRoutes::watch);
+            }
+            return routes;
+        }
+    }
+
+    /**
+     * Completes routes of context which are due, it does nothing if no route of context was delayed.
+     *
+     * @param context of routes
+     */
+    static void poll(BrowserContext context) {
+        DelayedRoutes routes = queues.get(context);
+        if (routes != null) {
+            routes.completeDue();
+        }
+    }
+
+    /**
+     * Completes route by handler after delay, routes which are already due are completed right away.
+     *
+     * @param route   intercepted route
+     * @param delay   in milliseconds
+     * @param handler fulfills, resumes or aborts route
+     */
+    void schedule(Route route, long delay, Consumer<Route> handler) {
+        completeDue();
+        if (delay <= 0) {
+            handler.accept(route);
+            return;
+        }
+        long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        synchronized (this) {
+            this.pending.add(new Pending(due, ++this.sequence, route, handler));
+        }
+        Frame frame;
+        boolean navigation;
+        try {
+            frame = route.request().frame();
+            navigation = route.request().isNavigationRequest();
+        } catch (PlaywrightException e) {
+            // request has no frame, e.g. request of service worker.
+            frame = null;
+            navigation = false;
+        }
+        if (navigation) {
+            // navigating frame can be without document yet, so timer goes to parent frame or other page first.
+            startTimer(frame.parentFrame(), frame, delay);
+        } else {
+            startTimer(frame, null, delay);
+        }
+    }
+
+    // timer dies with its document, so it is started again when main frame of any page navigates or page closes.
+    private void watch(Page page) {
+        page.onFrameNavigated(frame -> {
+            if (frame.parentFrame() == null) {
+                completeDue();
+                restartTimer(frame);
+            }
+        });
+        page.onClose(closed -> {
+            completeDue();
+            restartTimer(null);
+        });
+    }
+
+    private void restartTimer(Frame frame) {
+        long delay;
+        synchronized (this) {
+            Pending next = this.pending.peek();
+            if (next == null) {
+                return;
+            }
+            delay = TimeUnit.NANOSECONDS.toMillis(next.due - System.nanoTime()) + 1;
+        }
+        startTimer(frame, null, Math.max(1, delay));
+    }
+
+    /**
+     * Starts timer in preferred frame, or in main frame of any other page of context, or in last frame
+     * if nothing else can run it. Route stays in queue if no document can run timer, it is completed
+     * by the next navigation or request.
+     */
+    private void startTimer(Frame preferred, Frame last, long delay) {
+        int timeout = (int) Math.min(delay, Integer.MAX_VALUE);
+        if (startTimer(preferred, timeout)) {
+            return;
+        }
+        for (Page page : this.context.pages()) {
+            Frame main = page.isClosed() ? null : page.mainFrame();
+            if (main != preferred && main != last && startTimer(main, timeout)) {
+                return;
+            }
+        }
+        startTimer(last, timeout);
+    }
+
+    // timer is started only in frame with committed document, frame without it has empty url.
+    private static boolean startTimer(Frame frame, int delay) {
+        if (frame == null || frame.isDetached() || frame.url().isEmpty()) {
+            return false;
+        }
+        try {
+            frame.evaluate(JS_START_TIMER, delay);
+            return true;
+        } catch (PlaywrightException e) {
+            // document was replaced or page was closed meanwhile.
+            return false;
+        }
+    }
+
+    private void completeDue() {
+        while (true) {
+            Pending next;
+            synchronized (this) {
+                next = this.pending.peek();
+                if (next == null || next.due - System.nanoTime() > 0) {
+                    return;
+                }
+                this.pending.poll();
+            }
+            try {
+                next.handler.accept(next.route);
+            } catch (PlaywrightException e) {
+                // page was closed or navigated away while route waited, request does not exist anymore.
+            }
+        }
+    }
+}
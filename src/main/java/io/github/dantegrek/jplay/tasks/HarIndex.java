@@ -0,0 +1,227 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.microsoft.playwright.Route;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entries of HAR file indexed by REST method and normalized url. HAR is read by streaming parser entry by entry,
+ * index is built once per file and shared by all HarReplay tasks till file changes.
+ */
+final class HarIndex {
+
+    // Driver sets these headers itself, recorded values belong to encoded body which is not in HAR.
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "content-encoding", "transfer-encoding");
+    private static final Map<Path, HarIndex> indexes = new ConcurrentHashMap<>();
+
+    private final long lastModified;
+    private final Map<String, List<Recorded>> entries = new HashMap<>();
+
+    private HarIndex(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Recorded response with hash of request body it was recorded for.
+     */
+    static final class Recorded {
+        private final String bodyHash;
+        private final Route.FulfillOptions response;
+
+        private Recorded(String bodyHash, Route.FulfillOptions response) {
+            this.bodyHash = bodyHash;
+            this.response = response;
+        }
+
+        /**
+         * Getter
+         *
+         * @return fulfill options of recorded response, shared by all requests.
+         */
+        Route.FulfillOptions getResponse() {
+            return this.response;
+        }
+    }
+
+    /**
+     * Returns index of HAR file, file is parsed again only if it was changed.
+     *
+     * @param harPath path to HAR file
+     * @return instance of HarIndex
+     */
+    static HarIndex of(Path harPath) {
+        Path key = harPath.toAbsolutePath().normalize();
+        try {
+            long lastModified = Files.getLastModifiedTime(key).toMillis();
+            HarIndex index = indexes.get(key);
+            if (index == null || index.lastModified != lastModified) {
+                index = parse(key, lastModified);
+                indexes.put(key, index);
+            }
+            return index;
+        } catch (IOException e) {
+            throw new RuntimeException("Can not read HAR file '" + harPath + "'.", e);
+        }
+    }
+
+    /**
+     * Key of request in index.
+     *
+     * @param method REST method of request
+     * @param url    of request
+     * @return key as String
+     */
+    static String key(String method, String url) {
+        return method.toUpperCase() + " " + normalize(url);
+    }
+
+    /**
+     * Recorded responses of request in order they were recorded.
+     *
+     * @param key      of request, see 'key(method, url)'
+     * @param bodyHash hash of request body or null to ignore body
+     * @return List of Recorded, empty if request was not recorded
+     */
+    List<Recorded> find(String key, String bodyHash) {
+        List<Recorded> recorded = this.entries.getOrDefault(key, List.of());
+        if (bodyHash == null || recorded.isEmpty()) {
+            return recorded;
+        }
+        List<Recorded> sameBody = new ArrayList<>();
+        for (Recorded candidate : recorded) {
+            if (bodyHash.equals(candidate.bodyHash)) {
+                sameBody.add(candidate);
+            }
+        }
+        return sameBody;
+    }
+
+    /**
+     * Hash of request body, requests without body have hash of empty body.
+     *
+     * @param body of request or null
+     * @return hash as String
+     */
+    static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body == null ? new byte[0] : body);
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available.", e);
+        }
+    }
+
+    // Fragment is never sent to server, order of query parameters does not change request.
+    private static String normalize(String url) {
+        int fragment = url.indexOf('#');
+        String withoutFragment = fragment >= 0 ? url.substring(0, fragment) : url;
+        int query = withoutFragment.indexOf('?');
+        if (query < 0 || query == withoutFragment.length() - 1) {
+            return query < 0 ? withoutFragment : withoutFragment.substring(0, query);
+        }
+        String[] parameters = withoutFragment.substring(query + 1).split("&");
+        Arrays.sort(parameters);
+        return withoutFragment.substring(0, query + 1) + String.join("&", parameters);
+    }
+
+    // Parsing
+
+    private static HarIndex parse(Path harPath, long lastModified) throws IOException {
+        HarIndex index = new HarIndex(lastModified);
+        try (Reader reader = Files.newBufferedReader(harPath, StandardCharsets.UTF_8);
+             JsonReader json = new JsonReader(reader)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                if (!json.nextName().equals("log")) {
+                    json.skipValue();
+                    continue;
+                }
+                json.beginObject();
+                while (json.hasNext()) {
+                    if (!json.nextName().equals("entries")) {
+                        json.skipValue();
+                        continue;
+                    }
+                    json.beginArray();
+                    while (json.hasNext()) {
+                        // only one entry is kept in memory as tree.
+                        index.add(JsonParser.parseReader(json).getAsJsonObject());
+                    }
+                    json.endArray();
+                }
+                json.endObject();
+            }
+            json.endObject();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("HAR file '" + harPath + "' is not valid.", e);
+        }
+        return index;
+    }
+
+    private void add(JsonObject entry) {
+        JsonObject request = entry.getAsJsonObject("request");
+        JsonObject response = entry.getAsJsonObject("response");
+        if (request == null || response == null) {
+            return;
+        }
+        int status = response.get("status").getAsInt();
+        if (status <= 0) {
+            // request failed or was aborted while recording, there is nothing to replay.
+            return;
+        }
+        String key = key(request.get("method").getAsString(), request.get("url").getAsString());
+        this.entries.computeIfAbsent(key, k -> new ArrayList<>())
+                .add(new Recorded(hash(requestBody(request)), fulfillOptions(status, response)));
+    }
+
+    private static byte[] requestBody(JsonObject request) {
+        JsonObject postData = request.getAsJsonObject("postData");
+        if (postData == null || !postData.has("text")) {
+            return null;
+        }
+        return postData.get("text").getAsString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Route.FulfillOptions fulfillOptions(int status, JsonObject response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        JsonArray recordedHeaders = response.getAsJsonArray("headers");
+        if (recordedHeaders != null) {
+            for (JsonElement header : recordedHeaders) {
+                String name = header.getAsJsonObject().get("name").getAsString();
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase()) && !name.startsWith(":")) {
+                    // repeated headers like set-cookie are joined the same way browser shows them.
+                    headers.merge(name, header.getAsJsonObject().get("value").getAsString(), (a, b) -> a + "\n" + b);
+                }
+            }
+        }
+        Route.FulfillOptions options = new Route.FulfillOptions()
+                .setStatus(status)
+                .setHeaders(headers);
+        JsonObject content = response.getAsJsonObject("content");
+        if (content != null && content.has("text")) {
+            String text = content.get("text").getAsString();
+            boolean isBase64 = content.has("encoding") && "base64".equals(content.get("encoding").getAsString());
+            PayloadCache.Payload payload = PayloadCache.of(isBase64 ?
+                    Base64.getDecoder().decode(text) : text.getBytes(StandardCharsets.UTF_8));
+            if (payload.getText() != null) {
+                options.setBody(payload.getText());
+            } else {
+                options.setBodyBytes(payload.getBytes());
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.microsoft.playwright.Route;
+import io.github.dantegrek.enums.HarMissPolicy;
+import io.github.dantegrek.enums.NetworkErrorCode;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays responses recorded by 'withRecordHarPath(path)'. Requests are matched by REST method and url
+ * without fragment and with sorted query parameters, optionally by request body as well.
+ * Request recorded several times gets recorded responses in the same order, the last one is repeated.
+ */
+public final class HarReplay extends NetworkRoute<HarReplay> {
+
+    private static final String ALL_URLS = "**";
+
+    private final Path harPath;
+    private HarMissPolicy missPolicy = HarMissPolicy.PASS_THROUGH;
+    private boolean withBodyMatching;
+    private final Map<String, AtomicInteger> replayed = new ConcurrentHashMap<>();
+    private final List<String> misses = new CopyOnWriteArrayList<>();
+
+    private HarReplay(Path harPath) {
+        this.harPath = harPath;
+    }
+
+    /**
+     * Syntax sugar, creates instance of HarReplay
+     *
+     * @param harPath path to HAR file recorded by 'withRecordHarPath(path)'
+     * @return instance of HarReplay
+     */
+    public static HarReplay harReplay(Path harPath) {
+        return new HarReplay(harPath);
+    }
+
+    /**
+     * Sets what happens with request which was not recorded.
+     *
+     * @param missPolicy PASS_THROUGH by default.
+     * @return instance of HarReplay
+     */
+    public HarReplay withMissPolicy(HarMissPolicy missPolicy) {
+        this.missPolicy = missPolicy;
+        return this;
+    }
+
+    /**
+     * Matches requests by body as well, e.g. for GraphQL endpoints where url is the same for all queries.
+     *
+     * @param withBodyMatching false by default.
+     * @return instance of HarReplay
+     */
+    public HarReplay withBodyMatching(boolean withBodyMatching) {
+        this.withBodyMatching = withBodyMatching;
+        return this;
+    }
+
+    /**
+     * Requests which were not found in HAR file.
+     *
+     * @return List of String in format 'METHOD url'
+     */
+    public List<String> getMisses() {
+        return Collections.unmodifiableList(this.misses);
+    }
+
+    private void replay(HarIndex index, Route route) {
+        String key = HarIndex.key(route.request().method(), route.request().url());
+        String bodyHash = this.withBodyMatching ? HarIndex.hash(route.request().postDataBuffer()) : null;
+        List<HarIndex.Recorded> recorded = index.find(key, bodyHash);
+        if (!recorded.isEmpty()) {
+            String replayKey = bodyHash == null ? key : key + " " + bodyHash;
+            int next = this.replayed.computeIfAbsent(replayKey, k -> new AtomicInteger()).getAndIncrement();
+            route.fulfill(recorded.get(Math.min(next, recorded.size() - 1)).getResponse());
+            return;
+        }
+        this.misses.add(key);
+        switch (this.missPolicy) {
+            case ABORT:
+                route.abort(NetworkErrorCode.FAILED.code);
+                break;
+            case FAIL:
+                route.abort(NetworkErrorCode.FAILED.code);
+                throw new RuntimeException(String.format("Request '%s' was not recorded in HAR file '%s'.",
+                        key, this.harPath));
+            default:
+                route.resume();
+        }
+    }
+
+    @Override
+    public void perform() {
+        resolveTarget();
+        if (this.url == null && this.urlPredicate == null) {
+            this.url = ALL_URLS;
+        }
+        HarIndex index = HarIndex.of(this.harPath);
+        // recorded body size is not known before lookup, so only delay and jitter are applied.
+        addRoute(paced(route -> replay(index, route), route -> 0), 0);
+    }
+}
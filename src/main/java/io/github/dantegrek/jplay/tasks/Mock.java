@@ -1,13 +1,12 @@
 package io.github.dantegrek.jplay.tasks;
 
-import com.microsoft.playwright.BrowserContext;
-import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Route;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Consumer;
-import java.util.function.Predicate;
+import java.util.function.Function;
 
 /**
  * Helps mock responses to browser.
@@ -16,6 +15,7 @@ public final class Mock extends NetworkRoute<Mock> {
 
     private final Route.FulfillOptions routeFullFillOptions = new Route.FulfillOptions();
     private int times;
+    private Function<RequestInfo, MockResponse> generator;
 
     /**
      * Syntax sugar, creates instance of Mock
@@ -118,64 +118,140 @@ public final class Mock extends NetworkRoute<Mock> {
         return this;
     }
 
-    // Routs
+    /**
+     * Computes response for each request, e.g. page of large dataset from query parameters of url.
+     * Options which generated response does not set are taken from this Mock.
+     * Generator is called on actor thread when request comes, request is resumed if generator returns null.
+     *
+     * @param generator creates response from request
+     * @return instance of Mock.
+     */
+    public Mock respondWith(Function<RequestInfo, MockResponse> generator) {
+        this.generator = generator;
+        return this;
+    }
 
-    private Page.RouteOptions timesForPageRoute() {
-        Page.RouteOptions options = null;
-        if (times > 0) {
-            options = new Page.RouteOptions().setTimes(times);
+    // Payload is prepared once per perform, each fulfill reuses it without reading file or copying bytes.
+    private static Route.FulfillOptions fulfillOptions(Route.FulfillOptions source, Map<String, String> headers) {
+        Route.FulfillOptions options = new Route.FulfillOptions()
+                .setHeaders(headers)
+                .setBody(source.body);
+        options.status = source.status;
+        options.contentType = source.contentType;
+        PayloadCache.Payload payload = null;
+        if (source.path != null) {
+            payload = PayloadCache.of(source.path);
+        } else if (source.bodyBytes != null) {
+            payload = PayloadCache.of(source.bodyBytes);
+        }
+        if (payload != null) {
+            if (payload.getText() != null) {
+                options.setBody(payload.getText());
+            } else {
+                options.setBodyBytes(payload.getBytes());
+            }
+            if (options.contentType == null) {
+                options.contentType = payload.getContentType();
+            }
         }
         return options;
     }
 
-    private BrowserContext.RouteOptions timesForContextRoute() {
-        BrowserContext.RouteOptions options = null;
-        if (times > 0) {
-            options = new BrowserContext.RouteOptions().setTimes(times);
-        }
-        return options;
+    private static Route.FulfillOptions generate(Function<RequestInfo, MockResponse> generator,
+                                                 Route.FulfillOptions defaults, Route route) {
+        return generate(generator, defaults, new RequestInfo(route.request()));
     }
 
-    private Consumer<Route> routeConsumer(Route.FulfillOptions fulfillOptions) {
-        return route -> {
-            if (isRestMethodMatch(route)) {
-                route.fulfill(fulfillOptions);
-            } else {
-                route.resume();
-            }
-        };
+    /**
+     * Response of generator merged with options of Mock.
+     *
+     * @param generator creates response from request
+     * @param defaults  prepared options of Mock
+     * @param request   copy of request
+     * @return options to respond with, null if generator returned null
+     */
+    static Route.FulfillOptions generate(Function<RequestInfo, MockResponse> generator,
+                                         Route.FulfillOptions defaults, RequestInfo request) {
+        MockResponse response = generator.apply(request);
+        if (response == null) {
+            return null;
+        }
+        Map<String, String> headers = new HashMap<>(defaults.headers);
+        headers.putAll(response.headers());
+        Route.FulfillOptions options = fulfillOptions(response.options(), headers);
+        if (options.status == null) {
+            options.status = defaults.status;
+        }
+        if (options.contentType == null) {
+            options.contentType = defaults.contentType;
+        }
+        if (options.body == null && options.bodyBytes == null) {
+            options.body = defaults.body;
+            options.bodyBytes = defaults.bodyBytes;
+        }
+        return options;
     }
 
-    private void route(String url, Route.FulfillOptions fulfillOptions) {
-        if (isPageNotNull()) {
-            this.page.route(url, routeConsumer(fulfillOptions), timesForPageRoute());
-        } else if (isContextNotNull()) {
-            this.context.route(url, routeConsumer(fulfillOptions), timesForContextRoute());
+    private static void fulfill(Route route, Route.FulfillOptions options) {
+        if (options != null) {
+            route.fulfill(options);
         } else {
-            throwRuntimeExceptionFromRoute();
+            route.resume();
         }
     }
 
-    private void route(Predicate<String> urlPredicate, Route.FulfillOptions fulfillOptions) {
-        if (isPageNotNull()) {
-            this.page.route(urlPredicate, routeConsumer(fulfillOptions), timesForPageRoute());
-        } else if (isContextNotNull()) {
-            this.context.route(urlPredicate, routeConsumer(fulfillOptions), timesForContextRoute());
-        } else {
-            throwRuntimeExceptionFromRoute();
+    /**
+     * Options of response prepared the same way as for route, payload is read once.
+     *
+     * @return instance of Route.FulfillOptions
+     */
+    Route.FulfillOptions preparedResponse() {
+        return fulfillOptions(this.routeFullFillOptions, this.headers);
+    }
+
+    /**
+     * Getter
+     *
+     * @return generator given in 'respondWith()' or null.
+     */
+    Function<RequestInfo, MockResponse> generator() {
+        return this.generator;
+    }
+
+    /**
+     * Getter
+     *
+     * @return amount of usages, 0 means unlimited.
+     */
+    int times() {
+        return this.times;
+    }
+
+    static long bodyLength(Route.FulfillOptions options) {
+        if (options == null) {
+            return 0;
+        }
+        if (options.bodyBytes != null) {
+            return options.bodyBytes.length;
         }
+        return options.body == null ? 0 : options.body.getBytes(StandardCharsets.UTF_8).length;
     }
 
     @Override
     public void perform() {
-        Route.FulfillOptions fulfillOptions = routeFullFillOptions.setHeaders(this.headers);
-        if (this.url != null) {
-            route(this.url, fulfillOptions);
-        } else if (this.urlPredicate != null) {
-            route(this.urlPredicate, fulfillOptions);
-        } else {
+        resolveTarget();
+        if (this.url == null && this.urlPredicate == null) {
             throw new RuntimeException("You have to specify for which url this mock is, use 'forUrl()'.");
         }
+        Route.FulfillOptions fulfillOptions = fulfillOptions(this.routeFullFillOptions, this.headers);
+        Function<RequestInfo, MockResponse> generator = this.generator;
+        if (generator == null) {
+            long bodyLength = bodyLength(fulfillOptions);
+            addRoute(paced(route -> route.fulfill(fulfillOptions), route -> bodyLength), this.times);
+        } else {
+            addRoute(paced(route -> generate(generator, fulfillOptions, route), Mock::bodyLength, Mock::fulfill),
+                    this.times);
+        }
     }
 
 }
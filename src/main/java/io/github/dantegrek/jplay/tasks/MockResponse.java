@@ -0,0 +1,115 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.microsoft.playwright.Route;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Response computed by response generator of Mock, see 'Mock.respondWith(generator)'.
+ * Options which are not set are taken from Mock itself, headers are added to headers of Mock.
+ */
+public final class MockResponse {
+
+    private final Route.FulfillOptions options = new Route.FulfillOptions();
+    private final Map<String, String> headers = new HashMap<>();
+
+    private MockResponse() {
+    }
+
+    /**
+     * Syntax sugar, creates instance of MockResponse
+     *
+     * @return instance of MockResponse
+     */
+    public static MockResponse mockResponse() {
+        return new MockResponse();
+    }
+
+    /**
+     * Response status code, defaults to status code of Mock.
+     *
+     * @param statusCode of response
+     * @return instance of MockResponse.
+     */
+    public MockResponse withStatusCode(int statusCode) {
+        this.options.setStatus(statusCode);
+        return this;
+    }
+
+    /**
+     * If set, equals to setting Content-Type response header.
+     *
+     * @param contentType value.
+     * @return instance of MockResponse.
+     */
+    public MockResponse withContentType(String contentType) {
+        this.options.setContentType(contentType);
+        return this;
+    }
+
+    /**
+     * Response headers, they override headers of Mock with the same name.
+     *
+     * @param headers as a Map of Strings
+     * @return instance of MockResponse.
+     */
+    public MockResponse withHeaders(Map<String, String> headers) {
+        this.headers.putAll(headers);
+        return this;
+    }
+
+    /**
+     * Adds header to response
+     *
+     * @param headerName  key
+     * @param headerValue value
+     * @return instance of MockResponse
+     */
+    public MockResponse withHeader(String headerName, String headerValue) {
+        this.headers.put(headerName, headerValue);
+        return this;
+    }
+
+    /**
+     * Response body as text.
+     *
+     * @param body as String
+     * @return instance of MockResponse.
+     */
+    public MockResponse withBody(String body) {
+        this.options.setBody(body);
+        return this;
+    }
+
+    /**
+     * Response body as raw bytes.
+     *
+     * @param body as byte array.
+     * @return instance of MockResponse.
+     */
+    public MockResponse withBody(byte[] body) {
+        this.options.setBodyBytes(body);
+        return this;
+    }
+
+    /**
+     * File path to respond with, file is taken from payload cache.
+     *
+     * @param path to file with payload
+     * @return instance of MockResponse.
+     */
+    public MockResponse withPathToPayload(Path path) {
+        this.options.setPath(path);
+        return this;
+    }
+
+    Route.FulfillOptions options() {
+        return this.options;
+    }
+
+    Map<String, String> headers() {
+        return this.headers;
+    }
+}
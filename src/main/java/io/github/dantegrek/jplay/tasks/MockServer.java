@@ -0,0 +1,321 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.microsoft.playwright.Route;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.dantegrek.jplay.GlobPattern;
+import io.github.dantegrek.jplay.RouteStats;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * HTTP server on loopback interface which serves Mock definitions without route interception, so mocked
+ * requests do not cross driver and throughput is not limited by it. Context is pointed to server by
+ * 'withBaseURL(server.getUrl())' for relative urls or by 'withContextProxy(server.getUrl())' for all http urls,
+ * https urls can not be served through proxy, they need routes. Request which no Mock takes gets 404.
+ * Mocks are checked from the newest one, times, delay, jitter and bandwidth of Mock are respected,
+ * generator of 'respondWith()' is called on server thread.
+ * JDK server writes headers and body separately, so without TCP_NODELAY each keep-alive response can wait for
+ * delayed ACK, about 40 ms. Set '-Dsun.net.httpserver.nodelay=true' for JVM of tests if many requests are served,
+ * property is JVM-wide and is read when the first server starts, so server does not set it.
+ */
+public final class MockServer implements AutoCloseable {
+
+    private static final AtomicInteger counter = new AtomicInteger();
+    private static final byte[] NOT_FOUND = "No mock for request.".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timer;
+    private final List<Served> mocks = new CopyOnWriteArrayList<>();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private static final class Served {
+        private final Predicate<String> url;
+        private final String method;
+        private final Route.FulfillOptions response;
+        private final Function<RequestInfo, MockResponse> generator;
+        private final AtomicInteger remaining;
+        private final LongUnaryOperator pacing;
+        private final RouteStats stats;
+
+        private Served(Mock mock, String baseUrl) {
+            if (mock.url == null && mock.urlPredicate == null) {
+                throw new RuntimeException("You have to specify for which url this mock is, use 'forUrl()'.");
+            }
+            this.url = mock.url != null ? GlobPattern.urlMatcher(baseUrl, mock.url) : mock.urlPredicate;
+            this.method = mock.restMethod == null ? null : mock.restMethod.name();
+            this.response = mock.preparedResponse();
+            this.generator = mock.generator();
+            this.remaining = mock.times() > 0 ? new AtomicInteger(mock.times()) : null;
+            this.pacing = mock.pacing();
+            this.stats = mock.getStats();
+        }
+
+        private boolean matches(String url, String method) {
+            return (this.method == null || this.method.equals(method)) && this.url.test(url);
+        }
+
+        // the last usage of mock with times is taken by one request only.
+        private boolean take() {
+            return this.remaining == null || this.remaining.getAndUpdate(left -> left > 0 ? left - 1 : 0) > 0;
+        }
+    }
+
+    private MockServer(int port) {
+        int id = counter.incrementAndGet();
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Mock server can not be started on port " + port + ".", e);
+        }
+        this.workers = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()),
+                daemon("jplay-mock-server-" + id + "-"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("jplay-mock-server-" + id + "-timer-"));
+        this.server.setExecutor(this.workers);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Starts server on free port of 127.0.0.1.
+     *
+     * @return instance of MockServer
+     */
+    public static MockServer start() {
+        return start(0);
+    }
+
+    /**
+     * Starts server on port of 127.0.0.1.
+     *
+     * @param port to listen, 0 means free port
+     * @return instance of MockServer
+     */
+    public static MockServer start(int port) {
+        return new MockServer(port);
+    }
+
+    /**
+     * Serves mocks, 'onCurrentPage()' and 'onCurrentContext()' of mock are not needed.
+     * Mock is prepared when it is added, later changes of mock are not served.
+     *
+     * @param mocks to serve
+     * @return instance of MockServer
+     */
+    public MockServer serve(Mock... mocks) {
+        for (Mock mock : mocks) {
+            this.mocks.add(new Served(mock, getUrl()));
+        }
+        return this;
+    }
+
+    /**
+     * Removes all mocks, counters are kept.
+     *
+     * @return instance of MockServer
+     */
+    public MockServer clear() {
+        this.mocks.clear();
+        return this;
+    }
+
+    /**
+     * Getter
+     *
+     * @return url of server, e.g. http://127.0.0.1:54321
+     */
+    public String getUrl() {
+        return "http://" + this.server.getAddress().getAddress().getHostAddress() + ":" + getPort();
+    }
+
+    /**
+     * Getter
+     *
+     * @return port of server.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Amount of requests served by mocks.
+     *
+     * @return long
+     */
+    public long getServed() {
+        return this.served.sum();
+    }
+
+    /**
+     * Amount of requests which no mock took, they got 404.
+     *
+     * @return long
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Stops server, requests which are being served are not waited for.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.workers.shutdownNow();
+        this.timer.shutdownNow();
+    }
+
+    // Serving
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        String url = url(exchange);
+        String method = exchange.getRequestMethod();
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        if (origin != null && "OPTIONS".equals(method)
+                && exchange.getRequestHeaders().containsKey("Access-Control-Request-Method")) {
+            preflight(exchange, origin);
+            return;
+        }
+        Served mock = find(url, method);
+        if (mock == null) {
+            this.misses.increment();
+            respond(exchange, 404, null, NOT_FOUND, origin);
+            return;
+        }
+        Route.FulfillOptions options = mock.response;
+        if (mock.generator != null) {
+            options = Mock.generate(mock.generator, options, requestInfo(exchange, url, method));
+            if (options == null) {
+                this.misses.increment();
+                respond(exchange, 404, null, NOT_FOUND, origin);
+                return;
+            }
+        }
+        this.served.increment();
+        Route.FulfillOptions response = options;
+        long delay = mock.pacing == null ? 0 : mock.pacing.applyAsLong(Mock.bodyLength(response));
+        if (delay > 0) {
+            this.timer.schedule(() -> complete(exchange, mock, response, origin, start), delay, TimeUnit.MILLISECONDS);
+        } else {
+            complete(exchange, mock, response, origin, start);
+        }
+    }
+
+    private Served find(String url, String method) {
+        // snapshot of copy on write list, mocks can be added or cleared meanwhile.
+        Served[] snapshot = this.mocks.toArray(new Served[0]);
+        for (int i = snapshot.length - 1; i >= 0; i--) {
+            Served mock = snapshot[i];
+            if (mock.matches(url, method) && mock.take()) {
+                return mock;
+            }
+        }
+        return null;
+    }
+
+    private void complete(HttpExchange exchange, Served mock, Route.FulfillOptions options, String origin,
+                          long start) {
+        try {
+            byte[] body = options.bodyBytes != null ? options.bodyBytes
+                    : options.body != null ? options.body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            Headers headers = exchange.getResponseHeaders();
+            if (options.headers != null) {
+                options.headers.forEach(headers::set);
+            }
+            respond(exchange, options.status == null ? 200 : options.status, options.contentType, body, origin);
+            mock.stats.recordHit(System.nanoTime() - start);
+        } catch (IOException e) {
+            // browser closed connection, e.g. page was closed while response was delayed.
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body, String origin)
+            throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        if (contentType != null) {
+            headers.set("Content-Type", contentType);
+        }
+        if (origin != null && !headers.containsKey("Access-Control-Allow-Origin")) {
+            headers.set("Access-Control-Allow-Origin", origin);
+            headers.set("Access-Control-Allow-Credentials", "true");
+        }
+        boolean noBody = "HEAD".equals(exchange.getRequestMethod()) || status == 204 || status == 304;
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length == 0 ? -1 : body.length);
+        if (!noBody && body.length > 0) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    private static void preflight(HttpExchange exchange, String origin) throws IOException {
+        Headers request = exchange.getRequestHeaders();
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Access-Control-Allow-Methods", request.getFirst("Access-Control-Request-Method"));
+        String requestHeaders = request.getFirst("Access-Control-Request-Headers");
+        if (requestHeaders != null) {
+            headers.set("Access-Control-Allow-Headers", requestHeaders);
+        }
+        headers.set("Access-Control-Max-Age", "600");
+        respond(exchange, 204, null, new byte[0], origin);
+    }
+
+    // request in proxy form has absolute url, request to base url has only path.
+    private static String url(HttpExchange exchange) {
+        URI uri = exchange.getRequestURI();
+        if (uri.isAbsolute()) {
+            return uri.toString();
+        }
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host == null) {
+            host = exchange.getLocalAddress().getAddress().getHostAddress() + ":" + exchange.getLocalAddress().getPort();
+        }
+        return "http://" + host + uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+    }
+
+    private static RequestInfo requestInfo(HttpExchange exchange, String url, String method) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        exchange.getRequestHeaders().forEach((name, values) ->
+                headers.put(name.toLowerCase(), String.join(", ", values)));
+        byte[] postData;
+        try (InputStream input = exchange.getRequestBody()) {
+            postData = input.readAllBytes();
+        }
+        return new RequestInfo(url, method, headers, postData.length == 0 ? null : postData);
+    }
+}
@@ -4,11 +4,19 @@ import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Route;
 import io.github.dantegrek.enums.RestMethod;
+import io.github.dantegrek.jplay.GlobPattern;
+import io.github.dantegrek.jplay.RouteStats;
 import io.github.dantegrek.jplay.Task;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 abstract class NetworkRoute<T extends NetworkRoute<T>> extends Task {
 
@@ -37,12 +45,40 @@ abstract class NetworkRoute<T extends NetworkRoute<T>> extends Task {
      */
     protected final Map<String, String> headers = new HashMap();
 
+    // page, context and route name are resolved on perform, so task can be built before it is given to actor.
+    private boolean onCurrentPage;
+    private boolean onCurrentContext;
+    private String routeName;
+    private final RouteStats stats = new RouteStats();
+    private long delay;
+    private long jitter;
+    private long bytesPerSecond;
+
     private void checkIfPageOrContextStarted() {
-        if (actor.currentPage() == null) {
+        if (boundActor().currentPage() == null) {
             throw new RuntimeException("You have to start context and page before creating network route.");
         }
     }
 
+    /**
+     * Puts page or context of actor which performs task to 'page' or 'context'
+     * and remembers url or predicate by name given in 'forUrl()'.
+     */
+    protected void resolveTarget() {
+        if (this.onCurrentPage || this.onCurrentContext) {
+            checkIfPageOrContextStarted();
+        }
+        if (this.onCurrentPage) {
+            this.page = boundActor().currentPage();
+        } else if (this.onCurrentContext) {
+            this.context = boundActor().currentPage().context();
+        }
+        if (this.routeName != null) {
+            boundActor().remember(this.routeName, this.url != null ? this.url : this.urlPredicate);
+            registerRouteStats(this.routeName, this.stats);
+        }
+    }
+
     /**
      * Throw Runtime exception with on current page on context message.
      */
@@ -51,12 +87,126 @@ abstract class NetworkRoute<T extends NetworkRoute<T>> extends Task {
     }
 
     /**
-     * Checks if REST method was set
-     * @param route instance of Route
-     * @return boolean
+     * Adds handler to route table of page or context, handler is called only for requests with url and REST method
+     * of this task. Route is remembered, so it can be removed by actor or when context is recycled.
+     *
+     * @param handler fulfills, resumes or aborts route
+     * @param times   amount of usages, 0 means unlimited
+     */
+    protected void addRoute(Consumer<Route> handler, int times) {
+        addRoute(handler, times, null);
+    }
+
+    /**
+     * Adds handler the same way as 'addRoute(handler, times)', requests which do not pass filter
+     * go to routes added earlier.
+     *
+     * @param handler       fulfills, resumes or aborts route
+     * @param times         amount of usages, 0 means unlimited
+     * @param requestFilter checks intercepted request, null means all requests
+     */
+    protected void addRoute(Consumer<Route> handler, int times,
+                            Predicate<com.microsoft.playwright.Request> requestFilter) {
+        BrowserContext target = isPageNotNull() ? this.page.context() : this.context;
+        RouteTable.Entry entry = (this.url != null ?
+                RouteTable.entry(GlobPattern.resolve(target == null ? null : baseUrl(target), this.url),
+                        this.restMethod, times, handler, this.stats) :
+                RouteTable.entry(this.urlPredicate, this.restMethod, times, handler, this.stats))
+                .withRequestFilter(requestFilter);
+        Object matcher = this.url != null ? this.url : this.urlPredicate;
+        entry.onExhausted(() -> untrackRoute(entry));
+        if (isPageNotNull()) {
+            RouteTable table = RouteTable.of(this.page);
+            trackRoute(this.page.context(), this.page, matcher, entry, () -> table.remove(entry));
+            table.add(entry);
+        } else if (isContextNotNull()) {
+            RouteTable table = RouteTable.of(this.context);
+            trackRoute(this.context, this.context, matcher, entry, () -> table.remove(entry));
+            table.add(entry);
+        } else {
+            throwRuntimeExceptionFromRoute();
+        }
+    }
+
+    /**
+     * Aborts route if blocking policy of context blocks it, it is used by route table before request is resumed.
+     *
+     * @param context of route
+     * @param route   intercepted route
+     * @return true if route was aborted
+     */
+    static boolean blocked(BrowserContext context, Route route) {
+        return abortIfBlocked(context, route);
+    }
+
+    /**
+     * Wraps handler, so route is completed after delay, jitter and transfer time given by 'withDelay()',
+     * 'withJitter()' and 'withBandwidth()'. Handler returns right away, route is completed while actor waits
+     * for anything else.
+     *
+     * @param handler          fulfills, resumes or aborts route
+     * @param transferredBytes amount of bytes which are paced by bandwidth
+     * @return handler without delay if there is nothing to delay
+     */
+    protected Consumer<Route> paced(Consumer<Route> handler, ToLongFunction<Route> transferredBytes) {
+        return paced(route -> route, transferredBytes, (route, same) -> handler.accept(route));
+    }
+
+    /**
+     * Wraps handler the same way as 'paced(handler, transferredBytes)', but response is prepared when request
+     * comes and only completion is delayed.
+     *
+     * @param prepare          creates response from route
+     * @param transferredBytes amount of bytes of response which are paced by bandwidth
+     * @param complete         fulfills, resumes or aborts route with prepared response
+     * @param <R>              type of prepared response
+     * @return handler without delay if there is nothing to delay
+     */
+    protected <R> Consumer<Route> paced(Function<Route, R> prepare, ToLongFunction<R> transferredBytes,
+                                        BiConsumer<Route, R> complete) {
+        LongUnaryOperator pacing = pacing();
+        if (pacing == null) {
+            return route -> complete.accept(route, prepare.apply(route));
+        }
+        DelayedRoutes delayed = DelayedRoutes.of(isPageNotNull() ? this.page.context() : this.context);
+        return route -> {
+            R response = prepare.apply(route);
+            long total = pacing.applyAsLong(transferredBytes.applyAsLong(response));
+            delayed.schedule(route, total, delayedRoute -> complete.accept(delayedRoute, response));
+        };
+    }
+
+    /**
+     * Delay of one response from 'withDelay()', 'withJitter()' and 'withBandwidth()' set at the moment of call.
+     *
+     * @return function of transferred bytes to delay in milliseconds, null if there is nothing to delay
+     */
+    LongUnaryOperator pacing() {
+        if (this.delay == 0 && this.jitter == 0 && this.bytesPerSecond == 0) {
+            return null;
+        }
+        long delay = this.delay;
+        long jitter = this.jitter;
+        long bytesPerSecond = this.bytesPerSecond;
+        return transferredBytes -> {
+            long total = delay;
+            if (jitter > 0) {
+                total += ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+            }
+            if (bytesPerSecond > 0) {
+                total += transferredBytes * 1000 / bytesPerSecond;
+            }
+            return Math.max(0, total);
+        };
+    }
+
+    /**
+     * Counters of requests handled by this task, named task has them also in 'actor.routeStats(name)'.
+     *
+     * @return instance of RouteStats
      */
-    protected boolean isRestMethodMatch(Route route) {
-        return this.restMethod == null || route.request().method().equals(this.restMethod.name());
+    public RouteStats getStats() {
+        return this.stats;
     }
 
     /**
@@ -76,7 +226,7 @@ abstract class NetworkRoute<T extends NetworkRoute<T>> extends Task {
     }
 
     /**
-     * Set url as glob pattern.
+     * Set url as glob pattern, relative one is resolved against base url of context as in playwright.
      *
      * @param globPattern to put Mock or Request on
      * @return instance of Mock.
@@ -101,7 +251,7 @@ abstract class NetworkRoute<T extends NetworkRoute<T>> extends Task {
             throw new RuntimeException("You already set url predicate for this task.");
         }
         this.url = globPattern;
-        this.actor.remember(globPatternName, this.url);
+        this.routeName = globPatternName;
         return (T) this;
     }
 
@@ -133,7 +283,7 @@ abstract class NetworkRoute<T extends NetworkRoute<T>> extends Task {
             throw new RuntimeException("You already set url for this task.");
         }
         this.urlPredicate = urlPredicate;
-        this.actor.remember(predicateName, this.urlPredicate);
+        this.routeName = predicateName;
         return (T) this;
     }
 
@@ -147,17 +297,64 @@ abstract class NetworkRoute<T extends NetworkRoute<T>> extends Task {
         return (T) this;
     }
 
+    /**
+     * Completes each request after delay, test thread is not blocked while request waits.
+     * Delayed request is completed only while actor thread is inside playwright call, e.g. expect, wait for selector
+     * or navigation, test which waits in plain java, e.g. by 'Thread.sleep()', does not get response.
+     *
+     * @param millis delay of response
+     * @return instance of Mock or Request
+     */
+    public T withDelay(long millis) {
+        if (millis < 0) {
+            throw new RuntimeException("Delay can not be negative.");
+        }
+        this.delay = millis;
+        return (T) this;
+    }
+
+    /**
+     * Adds random time from -millis till +millis to delay of each request, total delay is not less than 0.
+     * As with 'withDelay()', request is completed while actor waits inside playwright call.
+     *
+     * @param millis max deviation of delay
+     * @return instance of Mock or Request
+     */
+    public T withJitter(long millis) {
+        if (millis < 0) {
+            throw new RuntimeException("Jitter can not be negative.");
+        }
+        this.jitter = millis;
+        return (T) this;
+    }
+
+    /**
+     * Adds transfer time of body to delay of each request. Mock paces its response body,
+     * Request paces request body it sends, because response of Request is streamed by browser itself,
+     * HarReplay does not pace body. Paced request is completed while actor waits inside playwright call only,
+     * see 'withDelay()'.
+     *
+     * @param bytesPerSecond bandwidth of connection
+     * @return instance of Mock or Request
+     */
+    public T withBandwidth(long bytesPerSecond) {
+        if (bytesPerSecond < 0) {
+            throw new RuntimeException("Bandwidth can not be negative.");
+        }
+        this.bytesPerSecond = bytesPerSecond;
+        return (T) this;
+    }
+
     /**
      * Set mock on current page/tab requests.
      *
      * @return instance of Mock or Request.
      */
     public T onCurrentPage() {
-        checkIfPageOrContextStarted();
-        if (this.context != null) {
+        if (this.onCurrentContext) {
             throw new RuntimeException("You already specified 'onCurrentContext'.");
         }
-        this.page = actor.currentPage();
+        this.onCurrentPage = true;
         return (T) this;
     }
 
@@ -167,11 +364,10 @@ abstract class NetworkRoute<T extends NetworkRoute<T>> extends Task {
      * @return instance of Mock or Request.
      */
     public T onCurrentContext() {
-        checkIfPageOrContextStarted();
-        if (this.page != null) {
+        if (this.onCurrentPage) {
             throw new RuntimeException("You already specified 'onCurrentPage'.");
         }
-        this.context = actor.currentPage().context();
+        this.onCurrentContext = true;
         return (T) this;
     }
 }
@@ -0,0 +1,236 @@
+package io.github.dantegrek.jplay.tasks;
+
+import java.io.IOException;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of Mock payloads shared by all actors of JVM. File is read once per change instead of on every fulfilled
+ * request, UTF-8 payloads are sent to driver as text, so they are not encoded to base64 on each fulfill.
+ * Least recently used payloads are evicted when cache is bigger than max size.
+ */
+public final class PayloadCache {
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "json", "application/json",
+            "js", "application/javascript",
+            "mjs", "application/javascript",
+            "css", "text/css",
+            "svg", "image/svg+xml",
+            "woff", "font/woff",
+            "woff2", "font/woff2",
+            "wasm", "application/wasm");
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private static final Map<Path, Payload> payloads = new LinkedHashMap<>(16, 0.75f, true);
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static long size;
+    private static volatile long maxSize = 64L * 1024 * 1024;
+
+    private PayloadCache() {
+    }
+
+    /**
+     * Payload in form driver accepts it without extra copies.
+     */
+    static final class Payload {
+        private final byte[] bytes;
+        private final String text;
+        private final String contentType;
+        private final long lastModified;
+
+        private Payload(byte[] bytes, String contentType, long lastModified) {
+            this.text = asText(bytes);
+            // text payload does not need bytes anymore.
+            this.bytes = this.text == null ? bytes : null;
+            this.contentType = contentType;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Getter
+         *
+         * @return payload as bytes or null if it is text.
+         */
+        byte[] getBytes() {
+            return this.bytes;
+        }
+
+        /**
+         * Getter
+         *
+         * @return payload as text or null if it is not valid UTF-8.
+         */
+        String getText() {
+            return this.text;
+        }
+
+        /**
+         * Getter
+         *
+         * @return content type guessed from file name or null.
+         */
+        String getContentType() {
+            return this.contentType;
+        }
+
+        private long length() {
+            return this.text != null ? this.text.length() * 2L : this.bytes.length;
+        }
+    }
+
+    // Settings
+
+    /**
+     * Sets max size of all cached payloads, payload bigger than max size is read on each 'perform()' of Mock.
+     *
+     * @param bytes 64 MB by default, 0 disables cache.
+     */
+    public static void withMaxSize(long bytes) {
+        if (bytes < 0) {
+            throw new RuntimeException("Max size of payload cache can not be negative.");
+        }
+        maxSize = bytes;
+        synchronized (PayloadCache.class) {
+            evict();
+        }
+    }
+
+    /**
+     * Forgets all cached payloads.
+     */
+    public static synchronized void clear() {
+        payloads.clear();
+        size = 0;
+    }
+
+    /**
+     * Amount of payloads which were taken from cache.
+     *
+     * @return long
+     */
+    public static long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Amount of payloads which were read from disk.
+     *
+     * @return long
+     */
+    public static long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Approximate size of cached payloads in memory.
+     *
+     * @return bytes as long
+     */
+    public static synchronized long size() {
+        return size;
+    }
+
+    // Payloads
+
+    /**
+     * Returns payload of file, file is read again only if it was changed since last read.
+     *
+     * @param path to payload file
+     * @return instance of Payload
+     */
+    static Payload of(Path path) {
+        Path key = path.toAbsolutePath().normalize();
+        long lastModified;
+        try {
+            lastModified = Files.readAttributes(key, BasicFileAttributes.class).lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            throw new RuntimeException("Can not read payload from '" + path + "'.", e);
+        }
+        synchronized (PayloadCache.class) {
+            Payload cached = payloads.get(key);
+            if (cached != null && cached.lastModified == lastModified) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        Payload payload;
+        try {
+            payload = new Payload(Files.readAllBytes(key), contentType(key), lastModified);
+        } catch (IOException e) {
+            throw new RuntimeException("Can not read payload from '" + path + "'.", e);
+        }
+        synchronized (PayloadCache.class) {
+            Payload previous = payloads.remove(key);
+            if (previous != null) {
+                size -= previous.length();
+            }
+            if (payload.length() <= maxSize) {
+                payloads.put(key, payload);
+                size += payload.length();
+                evict();
+            }
+        }
+        return payload;
+    }
+
+    /**
+     * Wraps payload given as bytes, it is not cached because array belongs to caller.
+     *
+     * @param bytes of payload
+     * @return instance of Payload
+     */
+    static Payload of(byte[] bytes) {
+        return new Payload(bytes, null, 0);
+    }
+
+    private static void evict() {
+        Iterator<Payload> eldest = payloads.values().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            size -= eldest.next().length();
+            eldest.remove();
+        }
+    }
+
+    // Driver counts content length of text by default charset, so non ASCII text is sent as bytes on other charsets.
+    private static String asText(byte[] bytes) {
+        String text;
+        try {
+            text = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+        boolean isUtf8Default = StandardCharsets.UTF_8.equals(Charset.defaultCharset());
+        return isUtf8Default || text.length() == bytes.length ? text : null;
+    }
+
+    private static String contentType(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase();
+        String contentType = CONTENT_TYPES.get(extension);
+        if (contentType == null) {
+            contentType = Files.probeContentType(path);
+        }
+        if (contentType == null) {
+            contentType = URLConnection.guessContentTypeFromName(name);
+        }
+        return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+    }
+}
@@ -7,8 +7,6 @@ import io.github.dantegrek.enums.RestMethod;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 /**
  * Helps override of modify out coming requests from browser.
@@ -122,90 +120,23 @@ public final class Request extends NetworkRoute<Request> {
         return this;
     }
 
-    private Consumer<Route> abortConsumer(NetworkErrorCode abort) {
-        return route -> {
-            if (isRestMethodMatch(route)) {
-                route.abort(abort.code);
-            } else {
-                route.resume();
-            }
-        };
-    }
-
-    private void abortRoute(String url, NetworkErrorCode abort) {
-        if (isPageNotNull()) {
-            this.page.route(url, abortConsumer(abort));
-        } else if (isContextNotNull()) {
-            this.context.route(url, abortConsumer(abort));
-        } else {
-            throwRuntimeExceptionFromRoute();
-        }
-    }
-
-    private void abortRoute(Predicate<String> urlPredicate, NetworkErrorCode abort) {
-        if (isPageNotNull()) {
-            this.page.route(urlPredicate, abortConsumer(abort));
-        } else if (isContextNotNull()) {
-            this.context.route(urlPredicate, abortConsumer(abort));
-        } else {
-            throwRuntimeExceptionFromRoute();
-        }
-    }
-
-    private Consumer<Route> routeConsumer(Route.ResumeOptions options) {
-        return route -> {
-            if (isRestMethodMatch(route)) {
-                route.resume(options.setHeaders(processHeaders(route.request().headers())));
-            } else {
-                route.resume();
-            }
-        };
-    }
-
-    private void route(String url, Route.ResumeOptions options) {
-        if (isPageNotNull()) {
-            this.page.route(url, routeConsumer(options));
-        } else if (isContextNotNull()) {
-            this.context.route(url, routeConsumer(options));
-        } else {
-            throwRuntimeExceptionFromRoute();
-        }
-    }
-
-    private void route(Predicate<String> urlPredicate, Route.ResumeOptions options) {
-        if (isPageNotNull()) {
-            this.page.route(urlPredicate, routeConsumer(options));
-        } else if (isContextNotNull()) {
-            this.context.route(urlPredicate, routeConsumer(options));
-        } else {
-            throwRuntimeExceptionFromRoute();
-        }
-    }
-
-    private void urlCase(String url) {
-        if (abortCode != null) {
-            abortRoute(url, this.abortCode);
-        } else {
-            route(url, this.options);
-        }
-    }
-
-    private void predicateCase(Predicate<String> predicate) {
-        if (abortCode != null) {
-            abortRoute(predicate, this.abortCode);
-        } else {
-            route(predicate, this.options);
-        }
+    private static long requestBodyLength(Route route) {
+        byte[] body = route.request().postDataBuffer();
+        return body == null ? 0 : body.length;
     }
 
     @Override
     public void perform() {
-        if (url != null) {
-            urlCase(url);
-        } else if (urlPredicate != null) {
-            predicateCase(urlPredicate);
-        } else {
+        resolveTarget();
+        if (this.url == null && this.urlPredicate == null) {
             throw new RuntimeException("You have to specify for which url this mock is, use 'forUrl()'.");
         }
+        NetworkErrorCode abort = this.abortCode;
+        if (abort != null) {
+            addRoute(paced(route -> route.abort(abort.code), Request::requestBodyLength), 0);
+        } else {
+            addRoute(paced(route -> route.resume(this.options.setHeaders(processHeaders(route.request().headers()))),
+                    Request::requestBodyLength), 0);
+        }
     }
 }
@@ -0,0 +1,142 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.microsoft.playwright.Request;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copy of intercepted request given to response generator of Mock, see 'Mock.respondWith(generator)'.
+ * It does not call driver, so generator can use it in any thread.
+ */
+public final class RequestInfo {
+
+    private final String url;
+    private final String method;
+    private final String resourceType;
+    private final Map<String, String> headers;
+    private final byte[] postData;
+    private Map<String, String> queryParameters;
+
+    RequestInfo(Request request) {
+        this.url = request.url();
+        this.method = request.method();
+        this.resourceType = request.resourceType();
+        this.headers = Collections.unmodifiableMap(new HashMap<>(request.headers()));
+        this.postData = request.postDataBuffer();
+    }
+
+    RequestInfo(String url, String method, Map<String, String> headers, byte[] postData) {
+        this.url = url;
+        this.method = method;
+        this.resourceType = null;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.postData = postData;
+    }
+
+    /**
+     * Getter
+     *
+     * @return url of request.
+     */
+    public String getUrl() {
+        return this.url;
+    }
+
+    /**
+     * Getter
+     *
+     * @return REST method of request, e.g. GET.
+     */
+    public String getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Getter
+     *
+     * @return resource type of request, e.g. document, xhr, fetch or image, null for request to MockServer.
+     */
+    public String getResourceType() {
+        return this.resourceType;
+    }
+
+    /**
+     * Getter
+     *
+     * @return unmodifiable map of request headers with lower case names.
+     */
+    public Map<String, String> getHeaders() {
+        return this.headers;
+    }
+
+    /**
+     * Getter
+     *
+     * @param name of header in lower case
+     * @return value of header or null.
+     */
+    public String getHeader(String name) {
+        return this.headers.get(name);
+    }
+
+    /**
+     * Getter
+     *
+     * @return post data as UTF-8 text or null if request has no body.
+     */
+    public String getPostData() {
+        return this.postData == null ? null : new String(this.postData, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Getter
+     *
+     * @return copy of post data or null if request has no body.
+     */
+    public byte[] getPostDataBytes() {
+        return this.postData == null ? null : this.postData.clone();
+    }
+
+    /**
+     * Decoded query parameter of url, the first one if parameter is repeated.
+     *
+     * @param name of parameter
+     * @return value of parameter or null.
+     */
+    public synchronized String getQueryParameter(String name) {
+        if (this.queryParameters == null) {
+            this.queryParameters = parseQuery(this.url);
+        }
+        return this.queryParameters.get(name);
+    }
+
+    private static Map<String, String> parseQuery(String url) {
+        Map<String, String> parameters = new HashMap<>();
+        int fragment = url.indexOf('#');
+        int query = url.indexOf('?');
+        if (query < 0 || (fragment >= 0 && fragment < query)) {
+            return parameters;
+        }
+        String queryString = url.substring(query + 1, fragment > query ? fragment : url.length());
+        for (String parameter : queryString.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            int equals = parameter.indexOf('=');
+            String key = equals < 0 ? parameter : parameter.substring(0, equals);
+            String value = equals < 0 ? "" : parameter.substring(equals + 1);
+            parameters.putIfAbsent(URLDecoder.decode(key, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return this.method + " " + this.url;
+    }
+}
@@ -0,0 +1,321 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import io.github.dantegrek.enums.RestMethod;
+import io.github.dantegrek.jplay.GlobPattern;
+import io.github.dantegrek.jplay.RouteStats;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Routes of Mock and Request tasks on one page or context. Table puts single playwright route on its page or context,
+ * so driver checks one handler per request instead of one per task. Exact urls are found by hash lookup, globs and
+ * predicates are scanned, both are indexed by REST method. The latest added route wins, as in playwright.
+ * Page routes go first, routes of context of page go next, request without route is resumed.
+ * Each route counts requests it handled and requests it skipped because of other REST method.
+ * Route with request filter, e.g. by resource type, lets other requests go to routes added earlier.
+ */
+final class RouteTable {
+
+    private static final String ANY_METHOD = "*";
+    private static final Map<Object, RouteTable> tables = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, MethodIndex> indexes = new HashMap<>();
+    private final BrowserContext context;
+    private final RouteTable parent;
+    private long sequence;
+
+    private RouteTable(BrowserContext context, RouteTable parent) {
+        this.context = context;
+        this.parent = parent;
+    }
+
+    /**
+     * Route of one task.
+     */
+    static final class Entry {
+        private final String url;
+        private final Predicate<String> urlPredicate;
+        private final String method;
+        private final Consumer<Route> handler;
+        private final RouteStats stats;
+        private Predicate<Request> requestFilter;
+        private Runnable onExhausted;
+        private int remainingTimes;
+        private boolean exhausted;
+        private long order;
+
+        private Entry(String url, Predicate<String> urlPredicate, RestMethod method, int times,
+                      Consumer<Route> handler, RouteStats stats) {
+            this.url = url;
+            this.urlPredicate = urlPredicate;
+            this.method = method == null ? ANY_METHOD : method.name();
+            this.remainingTimes = times;
+            this.handler = handler;
+            this.stats = stats;
+        }
+
+        /**
+         * Route skips requests which do not pass filter, so they go to routes added earlier.
+         *
+         * @param requestFilter e.g. by resource type of request
+         * @return instance of Entry
+         */
+        Entry withRequestFilter(Predicate<Request> requestFilter) {
+            this.requestFilter = requestFilter;
+            return this;
+        }
+
+        /**
+         * Callback of route with limited times, it is called after route is removed by its last usage.
+         *
+         * @param onExhausted e.g. forgets route in leak detector
+         * @return instance of Entry
+         */
+        Entry onExhausted(Runnable onExhausted) {
+            this.onExhausted = onExhausted;
+            return this;
+        }
+
+        private boolean accepts(Request request) {
+            return this.requestFilter == null || request == null || this.requestFilter.test(request);
+        }
+    }
+
+    /**
+     * Routes of one REST method, newest first.
+     */
+    private static final class MethodIndex {
+        private final Map<String, Deque<Entry>> exactUrls = new HashMap<>();
+        private final Deque<Entry> patterns = new ArrayDeque<>();
+
+        private Entry find(String url, Request request) {
+            Deque<Entry> exact = this.exactUrls.get(url);
+            Entry found = null;
+            if (exact != null) {
+                for (Entry entry : exact) {
+                    if (entry.accepts(request)) {
+                        found = entry;
+                        break;
+                    }
+                }
+            }
+            for (Entry pattern : this.patterns) {
+                if (found != null && pattern.order < found.order) {
+                    break;
+                }
+                if (pattern.urlPredicate.test(url) && pattern.accepts(request)) {
+                    return pattern;
+                }
+            }
+            return found;
+        }
+
+        private boolean isEmpty() {
+            return this.exactUrls.isEmpty() && this.patterns.isEmpty();
+        }
+    }
+
+    // Tables
+
+    /**
+     * Table of page, its playwright route is put on first usage.
+     *
+     * @param page to route
+     * @return instance of RouteTable
+     */
+    static RouteTable of(Page page) {
+        synchronized (tables) {
+            RouteTable table = tables.get(page);
+            if (table == null) {
+                table = new RouteTable(page.context(), of(page.context()));
+                tables.put(page, table);
+                RouteTable pageTable = table;
+                page.route(pageTable::matches, pageTable::handle);
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Table of context, its playwright route is put on first usage.
+     *
+     * @param context to route
+     * @return instance of RouteTable
+     */
+    static RouteTable of(BrowserContext context) {
+        synchronized (tables) {
+            RouteTable table = tables.get(context);
+            if (table == null) {
+                table = new RouteTable(context, null);
+                tables.put(context, table);
+                RouteTable contextTable = table;
+                context.route(contextTable::matches, contextTable::handle);
+            }
+            return table;
+        }
+    }
+
+    // Entries
+
+    /**
+     * Creates route for exact url or glob, glob is taken from cache of compiled globs.
+     * As in playwright, glob route also takes url which is equal to glob, e.g. literal url with '?'.
+     *
+     * @param url     exact url or glob pattern, already resolved against base url of context
+     * @param method  REST method or null for any method
+     * @param times   amount of usages, 0 means unlimited
+     * @param handler fulfills, resumes or aborts route
+     * @param stats   counters of route
+     * @return instance of Entry
+     */
+    static Entry entry(String url, RestMethod method, int times, Consumer<Route> handler, RouteStats stats) {
+        return new Entry(url, GlobPattern.isGlob(url) ? GlobPattern.urlMatcher(null, url) : null, method, times,
+                handler, stats);
+    }
+
+    /**
+     * Creates route for url predicate.
+     *
+     * @param urlPredicate predicate of url
+     * @param method       REST method or null for any method
+     * @param times        amount of usages, 0 means unlimited
+     * @param handler      fulfills, resumes or aborts route
+     * @param stats        counters of route
+     * @return instance of Entry
+     */
+    static Entry entry(Predicate<String> urlPredicate, RestMethod method, int times, Consumer<Route> handler,
+                       RouteStats stats) {
+        return new Entry(null, urlPredicate, method, times, handler, stats);
+    }
+
+    /**
+     * Adds route, it is checked before all routes added earlier.
+     *
+     * @param entry created by 'entry(...)'
+     */
+    synchronized void add(Entry entry) {
+        entry.order = ++this.sequence;
+        MethodIndex index = this.indexes.computeIfAbsent(entry.method, key -> new MethodIndex());
+        if (entry.urlPredicate == null) {
+            index.exactUrls.computeIfAbsent(entry.url, key -> new ArrayDeque<>()).addFirst(entry);
+        } else {
+            index.patterns.addFirst(entry);
+        }
+    }
+
+    /**
+     * Removes route, does nothing if it was already removed.
+     *
+     * @param entry added to this table
+     */
+    synchronized void remove(Entry entry) {
+        MethodIndex index = this.indexes.get(entry.method);
+        if (index == null) {
+            return;
+        }
+        if (entry.urlPredicate == null) {
+            Deque<Entry> exact = index.exactUrls.get(entry.url);
+            if (exact != null && exact.remove(entry) && exact.isEmpty()) {
+                index.exactUrls.remove(entry.url);
+            }
+        } else {
+            index.patterns.remove(entry);
+        }
+        if (index.isEmpty()) {
+            this.indexes.remove(entry.method);
+        }
+    }
+
+    // Matching
+
+    /**
+     * Finds the latest route for url and method, route with limited times is removed after last usage.
+     *
+     * @param request intercepted request
+     * @return Entry or null
+     */
+    synchronized Entry take(Request request) {
+        String url = request.url();
+        String method = request.method();
+        Entry found = newest(find(method, url, request), find(ANY_METHOD, url, request));
+        if (found != null && found.remainingTimes > 0 && --found.remainingTimes == 0) {
+            remove(found);
+            found.exhausted = true;
+        }
+        return found;
+    }
+
+    /**
+     * Finds the latest route for url with any REST method, it is used to count method misses.
+     *
+     * @param request intercepted request
+     * @return Entry or null
+     */
+    private synchronized Entry findAnyMethod(Request request) {
+        Entry found = null;
+        for (MethodIndex index : this.indexes.values()) {
+            found = newest(found, index.find(request.url(), request));
+        }
+        return found;
+    }
+
+    private Entry find(String method, String url, Request request) {
+        MethodIndex index = this.indexes.get(method);
+        return index == null ? null : index.find(url, request);
+    }
+
+    private static Entry newest(Entry first, Entry second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.order > second.order ? first : second;
+    }
+
+    private synchronized boolean matchesUrl(String url) {
+        return this.indexes.values().stream().anyMatch(index -> index.find(url, null) != null);
+    }
+
+    private boolean matches(String url) {
+        return matchesUrl(url) || (this.parent != null && this.parent.matchesUrl(url));
+    }
+
+    private void handle(Route route) {
+        // delayed routes do not depend on timer in page only, every intercepted request completes due ones.
+        DelayedRoutes.poll(this.context);
+        Entry entry = take(route.request());
+        if (entry == null && this.parent != null) {
+            entry = this.parent.take(route.request());
+        }
+        if (entry != null) {
+            // callback is called outside of table lock, it can take locks of actor.
+            if (entry.exhausted && entry.onExhausted != null) {
+                entry.onExhausted.run();
+            }
+            long start = System.nanoTime();
+            try {
+                entry.handler.accept(route);
+            } finally {
+                entry.stats.recordHit(System.nanoTime() - start);
+            }
+            return;
+        }
+        // url matched, otherwise driver would not call handler, so the latest route of url skipped other method.
+        Entry missed = findAnyMethod(route.request());
+        if (missed == null && this.parent != null) {
+            missed = this.parent.findAnyMethod(route.request());
+        }
+        if (missed != null) {
+            missed.stats.recordMethodMiss();
+        }
+        // resumed request does not come to route of blocking policy, so policy is asked here.
+        if (!NetworkRoute.blocked(this.context, route)) {
+            route.resume();
+        }
+    }
+}
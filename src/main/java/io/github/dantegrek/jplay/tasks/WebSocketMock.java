@@ -0,0 +1,358 @@
+package io.github.dantegrek.jplay.tasks;
+
+import com.google.gson.Gson;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import io.github.dantegrek.jplay.GlobPattern;
+import io.github.dantegrek.jplay.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces WebSocket of pages with fake socket for urls matching glob, playwright can not route web sockets.
+ * Frames are sent to page and frames sent by page are recorded by script in browser,
+ * so frames do not cross driver and page can be pushed with thousands of frames per second.
+ * Mock is installed as init script, it works on pages loaded after task is performed and on current pages
+ * for sockets opened later. Init script can not be removed, mock stays till page or context is closed.
+ */
+public final class WebSocketMock extends Task {
+
+    private static final AtomicInteger ids = new AtomicInteger();
+    private static final String REGISTRY = "window.__jplayWebSocketMocks";
+    private static final String JS_INSTALL = "config => {\n" +
+            "  const registry = " + REGISTRY + " = " + REGISTRY + " || {};\n" +
+            "  registry[config.id] = Object.assign(config, {regex: config.regex ? new RegExp(config.regex) : null, sent: [], sentTotal: 0, delivered: 0, sockets: 0});\n" +
+            "  if (window.__jplayNativeWebSocket) return;\n" +
+            "  const Native = window.__jplayNativeWebSocket = window.WebSocket;\n" +
+            "  const find = url => {\n" +
+            "    const keys = Object.keys(registry);\n" +
+            "    for (let i = keys.length - 1; i >= 0; i--) {\n" +
+            "      const mock = registry[keys[i]];\n" +
+            "      if (mock.url === url || (mock.regex && mock.regex.test(url))) return mock;\n" +
+            "    }\n" +
+            "    return null;\n" +
+            "  };\n" +
+            "  const absolute = url => {\n" +
+            "    const resolved = new URL(url, location.href);\n" +
+            "    if (resolved.protocol === 'http:') resolved.protocol = 'ws:';\n" +
+            "    else if (resolved.protocol === 'https:') resolved.protocol = 'wss:';\n" +
+            "    return resolved.href;\n" +
+            "  };\n" +
+            "  const text = data => {\n" +
+            "    if (typeof data === 'string') return data;\n" +
+            "    if (data instanceof Blob) return '[blob ' + data.size + ' bytes]';\n" +
+            "    const bytes = data instanceof ArrayBuffer ? new Uint8Array(data) : new Uint8Array(data.buffer, data.byteOffset, data.byteLength);\n" +
+            "    let binary = '';\n" +
+            "    for (let i = 0; i < bytes.length; i++) binary += String.fromCharCode(bytes[i]);\n" +
+            "    return btoa(binary);\n" +
+            "  };\n" +
+            "  class MockSocket extends EventTarget {\n" +
+            "    constructor(url, mock) {\n" +
+            "      super();\n" +
+            "      this.url = url; this.protocol = ''; this.extensions = ''; this.binaryType = 'blob'; this.bufferedAmount = 0;\n" +
+            "      this.readyState = 0; this.onopen = null; this.onmessage = null; this.onclose = null; this.onerror = null;\n" +
+            "      this._mock = mock; this._origin = new URL(url).origin;\n" +
+            "      mock.sockets++;\n" +
+            "      setTimeout(() => this._open(), 0);\n" +
+            "    }\n" +
+            "    _emit(event) { const handler = this['on' + event.type]; if (handler) handler.call(this, event); this.dispatchEvent(event); }\n" +
+            "    _open() {\n" +
+            "      if (this.readyState !== 0) return;\n" +
+            "      this.readyState = 1;\n" +
+            "      this._emit(new Event('open'));\n" +
+            "      const mock = this._mock, frames = mock.frames, start = performance.now();\n" +
+            "      if (!frames.length) return;\n" +
+            "      const pause = mock.rate > 0 ? Math.max(4, Math.min(1000 / mock.rate, 50)) : 0;\n" +
+            "      let next = 0;\n" +
+            "      const tick = () => {\n" +
+            "        const due = mock.rate > 0 ? Math.floor((performance.now() - start) * mock.rate / 1000) + 1 : next + 1000;\n" +
+            "        const limit = mock.repeat ? due : Math.min(due, frames.length);\n" +
+            "        while (next < limit && this.readyState === 1) {\n" +
+            "          const data = frames[next++ % frames.length];\n" +
+            "          mock.delivered++;\n" +
+            "          this._emit(new MessageEvent('message', {data: data, origin: this._origin}));\n" +
+            "        }\n" +
+            "        if (this.readyState === 1 && (mock.repeat || next < frames.length)) this._timer = setTimeout(tick, pause);\n" +
+            "      };\n" +
+            "      tick();\n" +
+            "    }\n" +
+            "    send(data) {\n" +
+            "      if (this.readyState === 0) throw new DOMException(\"Failed to execute 'send' on 'WebSocket': Still in CONNECTING state.\", 'InvalidStateError');\n" +
+            "      if (this.readyState !== 1) return;\n" +
+            "      const mock = this._mock;\n" +
+            "      if (mock.captureSize > 0) mock.sent[mock.sentTotal % mock.captureSize] = text(data);\n" +
+            "      mock.sentTotal++;\n" +
+            "    }\n" +
+            "    close(code, reason) {\n" +
+            "      if (this.readyState >= 2) return;\n" +
+            "      this.readyState = 2;\n" +
+            "      clearTimeout(this._timer);\n" +
+            "      setTimeout(() => { this.readyState = 3; this._emit(new CloseEvent('close', {code: code || 1000, reason: reason || '', wasClean: true})); }, 0);\n" +
+            "    }\n" +
+            "  }\n" +
+            "  function WebSocket(url, protocols) {\n" +
+            "    const mock = find(absolute(url));\n" +
+            "    if (mock) return new MockSocket(absolute(url), mock);\n" +
+            "    return protocols === undefined ? new Native(url) : new Native(url, protocols);\n" +
+            "  }\n" +
+            "  WebSocket.prototype = Native.prototype;\n" +
+            "  ['CONNECTING', 'OPEN', 'CLOSING', 'CLOSED'].forEach((name, value) => {\n" +
+            "    WebSocket[name] = value; MockSocket[name] = value; MockSocket.prototype[name] = value;\n" +
+            "  });\n" +
+            "  window.WebSocket = WebSocket;\n" +
+            "}";
+    private static final String JS_SENT_FRAMES = "id => {\n" +
+            "  const mock = " + REGISTRY + " && " + REGISTRY + "[id];\n" +
+            "  if (!mock) return [];\n" +
+            "  const frames = [];\n" +
+            "  for (let i = Math.max(0, mock.sentTotal - mock.captureSize); i < mock.sentTotal; i++) frames.push(mock.sent[i % mock.captureSize]);\n" +
+            "  return frames;\n" +
+            "}";
+    private static final String JS_COUNTER = "([id, counter]) => {\n" +
+            "  const mock = " + REGISTRY + " && " + REGISTRY + "[id];\n" +
+            "  return mock ? mock[counter] : 0;\n" +
+            "}";
+
+    private final int id = ids.incrementAndGet();
+    private String url;
+    private boolean onCurrentPage;
+    private boolean onCurrentContext;
+    private final List<String> frames = new ArrayList<>();
+    private int rate;
+    private boolean repeat;
+    private int captureSize = 1000;
+
+    private WebSocketMock() {
+    }
+
+    /**
+     * Syntax sugar, creates instance of WebSocketMock
+     *
+     * @return instance of WebSocketMock
+     */
+    public static WebSocketMock webSocketMock() {
+        return new WebSocketMock();
+    }
+
+    /**
+     * Set url of web socket as glob pattern, e.g. "wss://quotes.example.com/**", relative one is resolved against
+     * base url of context with ws or wss scheme.
+     *
+     * @param globPattern to put WebSocketMock on
+     * @return instance of WebSocketMock
+     */
+    public WebSocketMock forUrl(String globPattern) {
+        this.url = globPattern;
+        return this;
+    }
+
+    /**
+     * Set mock on web sockets of current page/tab.
+     *
+     * @return instance of WebSocketMock
+     */
+    public WebSocketMock onCurrentPage() {
+        this.onCurrentPage = true;
+        this.onCurrentContext = false;
+        return this;
+    }
+
+    /**
+     * Set mock on web sockets of all pages/tabs in current browser context.
+     *
+     * @return instance of WebSocketMock
+     */
+    public WebSocketMock onCurrentContext() {
+        this.onCurrentContext = true;
+        this.onCurrentPage = false;
+        return this;
+    }
+
+    /**
+     * Adds text frames which are sent to page after socket is opened, in given order.
+     *
+     * @param frames text frames
+     * @return instance of WebSocketMock
+     */
+    public WebSocketMock withFrames(String... frames) {
+        return withFrames(Arrays.asList(frames));
+    }
+
+    /**
+     * Adds text frames which are sent to page after socket is opened, in given order.
+     *
+     * @param frames text frames
+     * @return instance of WebSocketMock
+     */
+    public WebSocketMock withFrames(List<String> frames) {
+        this.frames.addAll(frames);
+        return this;
+    }
+
+    /**
+     * Adds frames made by generator, frames are generated once when task is performed,
+     * so generator does not slow down streaming.
+     *
+     * @param count     amount of frames
+     * @param generator gets index of frame and returns text frame
+     * @return instance of WebSocketMock
+     */
+    public WebSocketMock withGeneratedFrames(int count, IntFunction<String> generator) {
+        if (count < 0) {
+            throw new RuntimeException("Amount of generated frames can not be negative.");
+        }
+        for (int i = 0; i < count; i++) {
+            this.frames.add(generator.apply(i));
+        }
+        return this;
+    }
+
+    /**
+     * Sets rate of frames sent to page, frames which are late because page was busy are sent together.
+     *
+     * @param framesPerSecond 0 by default, means frames are sent as fast as page takes them
+     * @return instance of WebSocketMock
+     */
+    public WebSocketMock withRate(int framesPerSecond) {
+        if (framesPerSecond < 0) {
+            throw new RuntimeException("Rate of frames can not be negative.");
+        }
+        this.rate = framesPerSecond;
+        return this;
+    }
+
+    /**
+     * Sends frames again from first one after the last one, till socket is closed.
+     *
+     * @return instance of WebSocketMock
+     */
+    public WebSocketMock repeatFrames() {
+        this.repeat = true;
+        return this;
+    }
+
+    /**
+     * Sets amount of recorded frames sent by page, the oldest frames are dropped when buffer is full.
+     *
+     * @param captureSize 1000 by default, 0 does not record frames
+     * @return instance of WebSocketMock
+     */
+    public WebSocketMock withCaptureSize(int captureSize) {
+        if (captureSize < 0) {
+            throw new RuntimeException("Capture size of web socket mock can not be negative.");
+        }
+        this.captureSize = captureSize;
+        return this;
+    }
+
+    /**
+     * Frames sent by current page to sockets of this mock, the oldest first.
+     * Binary frames are recorded as base64.
+     *
+     * @return List of frames
+     */
+    public List<String> getSentFrames() {
+        if (this.captureSize == 0) {
+            return new ArrayList<>();
+        }
+        List<?> frames = (List<?>) currentPage().evaluate(JS_SENT_FRAMES, this.id);
+        return frames.stream().map(String::valueOf).collect(Collectors.toList());
+    }
+
+    /**
+     * Amount of frames sent by current page to sockets of this mock, also dropped from capture.
+     *
+     * @return long
+     */
+    public long getSentCount() {
+        return counter("sentTotal");
+    }
+
+    /**
+     * Amount of frames delivered to sockets of this mock on current page.
+     *
+     * @return long
+     */
+    public long getDeliveredCount() {
+        return counter("delivered");
+    }
+
+    /**
+     * Amount of sockets of this mock opened on current page.
+     *
+     * @return long
+     */
+    public long getOpenedSockets() {
+        return counter("sockets");
+    }
+
+    private long counter(String name) {
+        return ((Number) currentPage().evaluate(JS_COUNTER, Arrays.asList(this.id, name))).longValue();
+    }
+
+    private Page currentPage() {
+        Page current = boundActor().currentPage();
+        if (current == null) {
+            throw new RuntimeException("You have to start context and page before reading web socket mock.");
+        }
+        return current;
+    }
+
+    // relative url is resolved against base url of context and gets web socket scheme, as browser does.
+    private static String resolve(String baseUrl, String url) {
+        String resolved = GlobPattern.resolve(baseUrl, url);
+        if (resolved.startsWith("http://")) {
+            return "ws://" + resolved.substring("http://".length());
+        } else if (resolved.startsWith("https://")) {
+            return "wss://" + resolved.substring("https://".length());
+        }
+        return resolved;
+    }
+
+    private Map<String, Object> config(String baseUrl) {
+        String resolved = resolve(baseUrl, this.url);
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("id", this.id);
+        // as for routes, glob also takes url which is equal to it, e.g. literal url with '?'.
+        config.put("url", resolved);
+        config.put("regex", GlobPattern.isGlob(resolved) ? GlobPattern.toRegex(resolved) : null);
+        config.put("frames", this.frames);
+        config.put("rate", this.rate);
+        config.put("repeat", this.repeat);
+        config.put("captureSize", this.captureSize);
+        return config;
+    }
+
+    @Override
+    public void perform() {
+        if (this.url == null) {
+            throw new RuntimeException("You have to specify for which url this web socket mock is, use 'forUrl()'.");
+        }
+        if (!this.onCurrentPage && !this.onCurrentContext) {
+            throw new RuntimeException("You have to specify 'onCurrentPage()' or 'onCurrentContext()'.");
+        }
+        Page page = boundActor().currentPage();
+        if (page == null) {
+            throw new RuntimeException("You have to start context and page before creating web socket mock.");
+        }
+        Map<String, Object> config = config(baseUrl(page.context()));
+        String script = "(" + JS_INSTALL + ")(" + new Gson().toJson(config) + ");";
+        if (this.onCurrentPage) {
+            page.addInitScript(script);
+            page.evaluate(JS_INSTALL, config);
+        } else {
+            BrowserContext context = page.context();
+            context.addInitScript(script);
+            for (Page contextPage : context.pages()) {
+                contextPage.evaluate(JS_INSTALL, config);
+            }
+        }
+    }
+}
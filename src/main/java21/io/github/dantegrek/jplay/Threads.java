@@ -0,0 +1,22 @@
+package io.github.dantegrek.jplay;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Java 21+ version of thread helpers, named actors run in virtual threads.
+ */
+final class Threads {
+
+    private Threads() {
+    }
+
+    /**
+     * Executor for named actors.
+     *
+     * @return executor which starts new virtual thread for each task
+     */
+    static ExecutorService newExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("jplay-actor-", 1).factory());
+    }
+}
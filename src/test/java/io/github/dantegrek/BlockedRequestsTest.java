@@ -0,0 +1,142 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.ResourceType;
+import io.github.dantegrek.jplay.BlockedRequests;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static io.github.dantegrek.jplay.tasks.CacheAssets.cacheAssets;
+import static io.github.dantegrek.jplay.tasks.Mock.mock;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockedRequestsTest {
+
+    private final String playgroundUrl = "https://dantegrek.github.io/testautomation-playground";
+
+    @AfterEach
+    public void afterEach() {
+        then()
+                .closeBrowser()
+                .clearConfig();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void blockingPolicyAbortsAndCountsRequestsTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .contextConfig()
+                .withBlockedResourceTypes(ResourceType.IMAGE)
+                .withBlockedHosts("analytics.example.com")
+                .withBlockedUrls("**/blocked.js")
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl(playgroundUrl)
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><body><h1>BLOCKING</h1>" +
+                                "<img src='" + playgroundUrl + "/logo.png'>" +
+                                "<script src='https://www.analytics.example.com/track.js'></script>" +
+                                "<script src='" + playgroundUrl + "/blocked.js'></script></body></html>"));
+        when()
+                .navigateTo(playgroundUrl)
+                .expectThat()
+                .selector("h1")
+                .hasText("BLOCKING");
+        BlockedRequests blocked = then()
+                .waitTillNetworkIdle()
+                .blockedRequests();
+        assertAll("Blocked requests",
+                () -> assertEquals(3, blocked.getTotal()),
+                () -> assertEquals(1, blocked.getByResourceType(ResourceType.IMAGE)),
+                () -> assertEquals(1, blocked.getByHost("analytics.example.com")),
+                () -> assertEquals(1, blocked.getByUrl("**/blocked.js")),
+                () -> assertTrue(blocked.getUrls().contains(playgroundUrl + "/blocked.js"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void blockingPolicyIsKeptWithCachedAssetsTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .contextConfig()
+                .withBlockedResourceTypes(ResourceType.IMAGE)
+                .withBlockedHosts("analytics.example.com")
+                .and()
+                .startBrowser()
+                .set(cacheAssets()
+                        .onCurrentContext())
+                .set(mock()
+                        .forUrl(playgroundUrl)
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><body><h1>CACHED AND BLOCKED</h1>" +
+                                "<img src='" + playgroundUrl + "/logo.png'>" +
+                                "<script src='https://www.analytics.example.com/track.js'></script>" +
+                                "<script>fetch('https://analytics.example.com/collect').catch(() => {});</script>" +
+                                "</body></html>"));
+        when()
+                .navigateTo(playgroundUrl)
+                .expectThat()
+                .selector("h1")
+                .hasText("CACHED AND BLOCKED");
+        BlockedRequests blocked = then()
+                .waitTillNetworkIdle()
+                .blockedRequests();
+        assertAll("Blocked requests with cached assets",
+                () -> assertEquals(3, blocked.getTotal()),
+                () -> assertEquals(1, blocked.getByResourceType(ResourceType.IMAGE)),
+                () -> assertEquals(2, blocked.getByHost("analytics.example.com")),
+                () -> assertTrue(blocked.getUrls().contains("https://analytics.example.com/collect"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void relativeBlockedUrlIsResolvedAgainstBaseUrlTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .contextConfig()
+                .withBaseURL(playgroundUrl + "/")
+                .withBlockedUrls("api/track?id=1")
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl(playgroundUrl + "/")
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><body><h1>RELATIVE BLOCK</h1>" +
+                                "<script>fetch('api/track?id=1').catch(() => {});</script></body></html>"));
+        when()
+                .navigateTo(playgroundUrl + "/")
+                .expectThat()
+                .selector("h1")
+                .hasText("RELATIVE BLOCK");
+        BlockedRequests blocked = then()
+                .waitTillNetworkIdle()
+                .blockedRequests();
+        assertAll("Relative blocked url",
+                () -> assertEquals(1, blocked.getByUrl("api/track?id=1")),
+                () -> assertTrue(blocked.getUrls().contains(playgroundUrl + "/api/track?id=1"))
+        );
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.dantegrek;
+
+import com.microsoft.playwright.Browser;
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.jplay.BrowserPool;
+import io.github.dantegrek.jplay.BrowserPoolMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BrowserPoolTest {
+
+    @AfterEach
+    public void afterEach() {
+        then()
+                .clearConfig();
+        BrowserPool.withPoolSize(2);
+        BrowserPool.closeIdleBrowsers();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void closedBrowserReturnsToPoolTest(BrowserName browserName) {
+        // without background launches returned browser is the only idle one.
+        BrowserPool.withPoolSize(0);
+        BrowserPoolMetrics before = BrowserPool.metrics();
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .withBrowserPool(true)
+                .and()
+                .startBrowser();
+        Browser firstBrowser = then().currentPage().context().browser();
+        then()
+                .closeBrowser()
+                .startBrowser();
+        Browser secondBrowser = then().currentPage().context().browser();
+        then()
+                .closeBrowser();
+        BrowserPoolMetrics after = BrowserPool.metrics();
+
+        assertAll("Browser pool",
+                () -> assertSame(firstBrowser, secondBrowser, "browser was not reused"),
+                () -> assertTrue(firstBrowser.isConnected(), "pooled browser was closed"),
+                () -> assertEquals(2, after.getLeases() - before.getLeases(), "leases"));
+    }
+}
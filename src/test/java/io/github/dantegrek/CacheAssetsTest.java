@@ -0,0 +1,76 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.ResourceType;
+import io.github.dantegrek.jplay.tasks.AssetCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static io.github.dantegrek.jplay.tasks.CacheAssets.cacheAssets;
+import static io.github.dantegrek.jplay.tasks.Mock.mock;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheAssetsTest {
+
+    private final String playgroundUrl = "https://dantegrek.github.io/testautomation-playground";
+    private final String pageUrl = playgroundUrl + "/cached-page";
+
+    @AfterEach
+    public void afterEach() {
+        then()
+                .closeBrowser()
+                .clearConfig();
+        AssetCache.clear();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    private void openPageWithScriptInNewContext() {
+        when()
+                .createContextAndTab()
+                .set(cacheAssets()
+                        .onCurrentContext()
+                        .forResourceTypes(ResourceType.SCRIPT))
+                .set(mock()
+                        .forUrl(pageUrl)
+                        .onCurrentContext()
+                        .withContentType("text/html")
+                        .withBody("<html><head><script src='" + playgroundUrl + "'></script></head>" +
+                                "<body><h1>CACHED</h1></body></html>"));
+        and()
+                .navigateTo(pageUrl)
+                .expectThat()
+                .selector("h1")
+                .hasText("CACHED");
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void assetIsDownloadedOnceForAllContextsTest(BrowserName browserName) {
+        AssetCache.clear();
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startPureBrowser();
+        long hits = AssetCache.hits();
+        long misses = AssetCache.misses();
+        openPageWithScriptInNewContext();
+        assertEquals(misses + 1, AssetCache.misses());
+        then()
+                .closeCurrentContext();
+        openPageWithScriptInNewContext();
+        assertEquals(hits + 1, AssetCache.hits());
+        assertEquals(misses + 1, AssetCache.misses());
+        assertTrue(AssetCache.size() > 0);
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.jplay.ConfigurationProfiles;
+import io.github.dantegrek.jplay.ConfigurationSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.github.dantegrek.enums.BrowserName.CHROMIUM;
+import static io.github.dantegrek.enums.BrowserName.FIREFOX;
+import static io.github.dantegrek.jplay.Jplay.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigurationProfilesTest {
+
+    @AfterEach
+    public void afterEach() {
+        ConfigurationProfiles.withFile(null);
+        then().clearConfig();
+    }
+
+    private static Path file(String suffix, String content) throws IOException {
+        Path file = Files.createTempFile("jplay-profiles", suffix);
+        file.toFile().deleteOnExit();
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    public void profileFromPropertiesTest() throws IOException {
+        ConfigurationProfiles.withFile(file(".properties", "ci.browser=firefox\n"
+                + "ci.headless=true\n"
+                + "ci.viewport=1280x720\n"
+                + "ci.defaultTimeout=1000\n"
+                + "ci.trace=true\n"));
+
+        given()
+                .withProfile("ci");
+        ConfigurationSnapshot snapshot = then().configurationSnapshot();
+
+        assertAll("Profile",
+                () -> assertTrue(ConfigurationProfiles.names().contains("ci")),
+                () -> assertEquals(FIREFOX, snapshot.getBrowserName()),
+                () -> assertEquals(Boolean.TRUE, snapshot.getLaunchOptions().headless),
+                () -> assertEquals(1280, snapshot.getContextOptions().viewportSize.get().width),
+                () -> assertEquals(1000, snapshot.getDefaultTimeout()),
+                () -> assertTrue(snapshot.getWithTrace())
+        );
+    }
+
+    @Test
+    public void profileFromJsonTest() throws IOException {
+        ConfigurationProfiles.withFile(file(".json",
+                "{\"load\": {\"browser\": \"chromium\", \"browserArgs\": [\"--mute-audio\"], \"expectTimeout\": 100}}"));
+
+        given()
+                .withProfile("load");
+        ConfigurationSnapshot snapshot = then().configurationSnapshot();
+
+        assertAll("Profile",
+                () -> assertEquals(CHROMIUM, snapshot.getBrowserName()),
+                () -> assertEquals("--mute-audio", snapshot.getLaunchOptions().args.get(0)),
+                () -> assertEquals(100, snapshot.getExpectTimeout())
+        );
+    }
+
+    @Test
+    public void overridesDoNotChangeProfileTest() throws IOException {
+        ConfigurationProfiles.withFile(file(".properties", "ci.browser=firefox\n"));
+
+        given()
+                .withProfile("ci")
+                .browserConfig()
+                .withBrowser(CHROMIUM);
+        ConfigurationSnapshot overridden = then().configurationSnapshot();
+        when()
+                .withProfile("ci");
+
+        assertAll("Profile",
+                () -> assertEquals(CHROMIUM, overridden.getBrowserName()),
+                () -> assertEquals(FIREFOX, then().configurationSnapshot().getBrowserName())
+        );
+    }
+
+    @Test
+    public void unknownProfileTest() {
+        assertThrows(RuntimeException.class, () -> given().withProfile("unknown"));
+    }
+
+    @Test
+    public void invalidValueTest() throws IOException {
+        ConfigurationProfiles.withFile(file(".properties", "ci.viewport=big\n"));
+
+        assertThrows(RuntimeException.class, () -> given().withProfile("ci"));
+    }
+}
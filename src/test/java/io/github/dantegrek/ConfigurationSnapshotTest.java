@@ -0,0 +1,117 @@
+package io.github.dantegrek;
+
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.options.Proxy;
+import com.microsoft.playwright.options.ViewportSize;
+import io.github.dantegrek.jplay.ConfigurationSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.github.dantegrek.enums.BrowserName.CHROMIUM;
+import static io.github.dantegrek.enums.BrowserName.FIREFOX;
+import static io.github.dantegrek.jplay.Jplay.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigurationSnapshotTest {
+
+    @AfterEach
+    public void afterEach() {
+        then().clearConfig();
+    }
+
+    @Test
+    public void sameConfigurationHasSameFingerprintTest() {
+        given()
+                .browserConfig()
+                .withBrowser(CHROMIUM)
+                .withHeadless(true)
+                .withBrowserArgs(List.of("--mute-audio"));
+        ConfigurationSnapshot first = then().configurationSnapshot();
+        ConfigurationSnapshot second = then().configurationSnapshot();
+
+        assertAll("Snapshot",
+                () -> assertEquals(first, second),
+                () -> assertEquals(first.hashCode(), second.hashCode()),
+                () -> assertEquals(first.getFingerprint(), second.getFingerprint()),
+                () -> assertTrue(first.getBrowserFingerprint().startsWith(CHROMIUM.name))
+        );
+    }
+
+    @Test
+    public void snapshotIsNotChangedByConfigurationTest() {
+        given()
+                .browserConfig()
+                .withBrowser(CHROMIUM)
+                .withHeadless(true);
+        ConfigurationSnapshot before = then().configurationSnapshot();
+
+        when()
+                .browserConfig()
+                .withHeadless(false)
+                .withBrowser(FIREFOX);
+        ConfigurationSnapshot after = then().configurationSnapshot();
+
+        assertAll("Snapshot",
+                () -> assertEquals(CHROMIUM, before.getBrowserName()),
+                () -> assertEquals(Boolean.TRUE, before.getLaunchOptions().headless),
+                () -> assertNotEquals(before, after),
+                () -> assertNotEquals(before.getBrowserFingerprint(), after.getBrowserFingerprint())
+        );
+    }
+
+    @Test
+    public void copyOfOptionsDoesNotChangeSnapshotTest() {
+        ConfigurationSnapshot snapshot = given().configurationSnapshot();
+        String fingerprint = snapshot.getFingerprint();
+
+        BrowserType.LaunchOptions options = snapshot.getLaunchOptions();
+        options.setSlowMo(500);
+
+        assertAll("Snapshot",
+                () -> assertNull(snapshot.getLaunchOptions().slowMo),
+                () -> assertEquals(fingerprint, snapshot.getFingerprint())
+        );
+    }
+
+    @Test
+    public void contextOptionsChangeOnlyContextFingerprintTest() {
+        ConfigurationSnapshot before = given().configurationSnapshot();
+
+        when()
+                .contextConfig()
+                .withBaseURL("http://localhost:8080");
+        ConfigurationSnapshot after = then().configurationSnapshot();
+
+        assertAll("Snapshot",
+                () -> assertEquals(before.getBrowserFingerprint(), after.getBrowserFingerprint()),
+                () -> assertNotEquals(before.getContextFingerprint(), after.getContextFingerprint()),
+                () -> assertEquals("http://localhost:8080", after.getContextOptions().baseURL)
+        );
+    }
+
+    @Test
+    public void nestedOptionsAreCopiedIntoSnapshotTest() {
+        ViewportSize viewportSize = new ViewportSize(1280, 720);
+        Proxy proxy = new Proxy("http://localhost:3128");
+        given()
+                .contextConfig()
+                .withViewportSize(viewportSize)
+                .withContextProxy(proxy);
+        ConfigurationSnapshot snapshot = then().configurationSnapshot();
+        String fingerprint = snapshot.getContextFingerprint();
+
+        viewportSize.width = 375;
+        proxy.server = "http://localhost:8888";
+        snapshot.getContextOptions().viewportSize.get().height = 1;
+
+        assertAll("Snapshot",
+                () -> assertEquals(1280, snapshot.getContextOptions().viewportSize.get().width),
+                () -> assertEquals(720, snapshot.getContextOptions().viewportSize.get().height),
+                () -> assertEquals("http://localhost:3128", snapshot.getContextOptions().proxy.server),
+                () -> assertEquals(fingerprint, snapshot.getContextFingerprint()),
+                () -> assertNotEquals(fingerprint, then().configurationSnapshot().getContextFingerprint())
+        );
+    }
+}
@@ -1,15 +1,26 @@
 package io.github.dantegrek;
 
 import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.Cookie;
 import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.jplay.StorageStateCache;
+import io.github.dantegrek.jplay.Task;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static io.github.dantegrek.jplay.Actor.actor;
 import static io.github.dantegrek.jplay.Jplay.*;
+import static io.github.dantegrek.jplay.tasks.Mock.mock;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -142,4 +153,116 @@ public class ContextTest {
         assertTrue(exception.getMessage().contains("message='Target page, context or browser has been closed"),
                 UNEXPECTED_EXCEPTION_MESSAGE);
     }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void recycleContextTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .contextConfig()
+                .withContextRecycling(true)
+                .and()
+                .startBrowser();
+        BrowserContext firstContext = actor()
+                .currentPage()
+                .context();
+        firstContext.addCookies(List.of(new Cookie("name", "value").setUrl("https://dantegrek.github.io")));
+        when()
+                .openNewTab()
+                .closeCurrentContext()
+                .createContextAndTab();
+        BrowserContext secondContext = then()
+                .currentPage()
+                .context();
+
+        assertAll("Recycled context",
+                () -> assertSame(firstContext, secondContext, "context was not reused"),
+                () -> assertEquals(1, secondContext.pages().size(), "unexpected amount of pages"),
+                () -> assertTrue(secondContext.cookies().isEmpty(), "cookies were not cleared"),
+                () -> assertEquals(1, secondContext.browser().contexts().size(), UNEXPECTED_AMOUNT_OF_CONTEXTS));
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void recycledContextClearsStorageOfAllVisitedOriginsTest(BrowserName browserName) {
+        String firstOrigin = "https://dantegrek.github.io";
+        String secondOrigin = "https://example.com";
+        String setItem = "() => localStorage.setItem('user', 'value')";
+        String getItem = "() => localStorage.getItem('user')";
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .contextConfig()
+                .withContextRecycling(true)
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl("**")
+                        .onCurrentContext()
+                        .withContentType("text/html")
+                        .withBody("<html><h1>STORAGE</h1></html>"));
+        when()
+                .navigateTo(firstOrigin + "/first.html")
+                .currentPage()
+                .evaluate(setItem);
+        when()
+                .navigateTo(secondOrigin + "/second.html")
+                .currentPage()
+                .evaluate(setItem);
+        when()
+                .closeCurrentContext()
+                .createContextAndTab()
+                .set(mock()
+                        .forUrl("**")
+                        .onCurrentContext()
+                        .withContentType("text/html")
+                        .withBody("<html><h1>STORAGE</h1></html>"));
+        Object firstItem = then()
+                .navigateTo(firstOrigin + "/first.html")
+                .currentPage()
+                .evaluate(getItem);
+        Object secondItem = then()
+                .navigateTo(secondOrigin + "/second.html")
+                .currentPage()
+                .evaluate(getItem);
+
+        assertAll("Storage after recycling",
+                () -> assertNull(firstItem, "local storage of first origin was not cleared"),
+                () -> assertNull(secondItem, "local storage of second origin was not cleared"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void cachedStorageStateTest(BrowserName browserName) {
+        String key = "user-" + browserName.name;
+        AtomicInteger logins = new AtomicInteger();
+        Task login = new Task() {
+            @Override
+            public void perform() {
+                logins.incrementAndGet();
+                boundActor().currentPage().context()
+                        .addCookies(List.of(new Cookie("session", "user").setUrl("https://dantegrek.github.io")));
+            }
+        };
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .contextConfig()
+                .withCachedStorageState(key, login)
+                .and()
+                .startBrowser();
+        List<Cookie> firstCookies = actor().currentPage().context().cookies();
+        when()
+                .closeCurrentContext()
+                .createContextAndTab();
+        List<Cookie> secondCookies = actor().currentPage().context().cookies();
+        StorageStateCache.invalidate(key);
+
+        assertAll("Cached storage state",
+                () -> assertEquals(1, logins.get(), "login was not cached"),
+                () -> assertEquals("session", firstCookies.get(0).name),
+                () -> assertEquals("session", secondCookies.get(0).name),
+                () -> assertEquals(1, actor().currentPage().context().browser().contexts().size(), UNEXPECTED_AMOUNT_OF_CONTEXTS));
+    }
 }
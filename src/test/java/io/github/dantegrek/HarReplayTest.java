@@ -0,0 +1,78 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.HarMissPolicy;
+import io.github.dantegrek.jplay.tasks.HarReplay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static io.github.dantegrek.jplay.tasks.HarReplay.harReplay;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HarReplayTest {
+
+    private final String playgroundUrl = "https://dantegrek.github.io/testautomation-playground";
+    private final Path harPath = Paths.get("src", "test", "resources", "replay.har");
+
+    @AfterEach
+    public void afterEach() {
+        then()
+                .closeBrowser()
+                .clearConfig();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void replayRecordedResponsesTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser();
+        when()
+                .set(harReplay(harPath)
+                        .onCurrentContext());
+        and()
+                .navigateTo(playgroundUrl);
+        then()
+                .expectThat()
+                .selector("h1")
+                .hasText("HELLO FROM HAR!");
+        and()
+                .navigateTo(playgroundUrl + "/data.json?a=1&b=2#top")
+                .expectThat()
+                .selector("body")
+                .hasText("{\"data\":\"har\"}");
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void missPolicyAbortTest(BrowserName browserName) {
+        HarReplay replay = harReplay(harPath)
+                .onCurrentPage()
+                .withMissPolicy(HarMissPolicy.ABORT);
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser();
+        when()
+                .set(replay);
+
+        assertThrows(RuntimeException.class, () -> and().navigateTo(playgroundUrl + "/not-recorded"));
+        assertEquals(1, replay.getMisses().size());
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.jplay.LeakDetector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.opentest4j.AssertionFailedError;
+
+import static io.github.dantegrek.jplay.Actor.actor;
+import static io.github.dantegrek.jplay.Jplay.*;
+import static io.github.dantegrek.jplay.tasks.Mock.mock;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeakDetectorTest {
+
+    @AfterEach
+    public void afterEach() {
+        LeakDetector.withEnabled(false);
+        LeakDetector.withAutoClose(false);
+        then()
+                .clearConfig();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void unclosedBrowserIsReportedAndClosedTest(BrowserName browserName) {
+        LeakDetector.withEnabled(true);
+        LeakDetector.withAutoClose(true);
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser()
+                .openNewTab()
+                .dialog()
+                .acceptAllConfirms();
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> LeakDetector.verify(actor()));
+
+        assertAll("Leak report",
+                () -> assertTrue(error.getMessage().contains("browser created"), error.getMessage()),
+                () -> assertTrue(error.getMessage().contains("page created"), error.getMessage()),
+                () -> assertTrue(error.getMessage().contains("dialog handler created"), error.getMessage()),
+                () -> assertTrue(error.getMessage().contains(LeakDetectorTest.class.getName()), "call site"),
+                () -> assertDoesNotThrow(() -> LeakDetector.verify(actor()), "leaks were not closed"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void closedBrowserIsNotReportedTest(BrowserName browserName) {
+        LeakDetector.withEnabled(true);
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser()
+                .openNewTab()
+                .closeBrowser();
+
+        assertDoesNotThrow(() -> LeakDetector.verify(actor()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void routesWithTheSameUrlAreTrackedSeparatelyTest(BrowserName browserName) {
+        String url = "https://dantegrek.github.io/testautomation-playground";
+        LeakDetector.withEnabled(true);
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl(url)
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><h1>SECOND</h1></html>"))
+                .set(mock()
+                        .forUrl(url)
+                        .onCurrentPage()
+                        .useTimes(1)
+                        .withContentType("text/html")
+                        .withBody("<html><h1>FIRST</h1></html>"));
+        long beforeNavigation = openRouteHandlers();
+        when()
+                .navigateTo(url);
+        long afterLastUsage = openRouteHandlers();
+        then()
+                .removeMockFromPageForUrl(url);
+
+        assertAll("Tracked routes",
+                () -> assertEquals(2, beforeNavigation, "both routes should be tracked"),
+                () -> assertEquals(1, afterLastUsage, "route used up by times should be forgotten"),
+                () -> assertEquals(0, openRouteHandlers(), "removed route should be forgotten"));
+        then()
+                .closeBrowser();
+    }
+
+    private static long openRouteHandlers() {
+        return LeakDetector.openObjects().stream()
+                .filter(leak -> leak.startsWith("route handler"))
+                .count();
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.LifecycleStage;
+import io.github.dantegrek.jplay.LifecycleMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LifecycleMetricsTest {
+
+    @AfterEach
+    public void afterEach() {
+        then()
+                .closeBrowser()
+                .clearConfig()
+                .metrics()
+                .reset();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void startBrowserRecordsStagesTest(BrowserName browserName) {
+        long globalLaunches = LifecycleMetrics.global().getCount(LifecycleStage.BROWSER_LAUNCH);
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser()
+                .openNewTab();
+        LifecycleMetrics metrics = then().metrics();
+
+        assertAll("Lifecycle metrics",
+                () -> assertEquals(1, metrics.getCount(LifecycleStage.DRIVER_CREATION), "driver"),
+                () -> assertEquals(1, metrics.getCount(LifecycleStage.BROWSER_LAUNCH), "browser"),
+                () -> assertEquals(1, metrics.getCount(LifecycleStage.CONTEXT_CREATION), "context"),
+                () -> assertEquals(2, metrics.getCount(LifecycleStage.PAGE_CREATION), "pages"),
+                () -> assertTrue(metrics.getMax(LifecycleStage.BROWSER_LAUNCH).toNanos() > 0, "launch duration"),
+                () -> assertEquals(globalLaunches + 1, LifecycleMetrics.global().getCount(LifecycleStage.BROWSER_LAUNCH)),
+                () -> assertTrue(metrics.toJson().contains("BROWSER_LAUNCH"), "json"));
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.jplay.tasks.MockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static io.github.dantegrek.jplay.tasks.Mock.mock;
+import static io.github.dantegrek.jplay.tasks.MockResponse.mockResponse;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MockServerTest {
+
+    private MockServer server;
+
+    @AfterEach
+    public void afterEach() {
+        then()
+                .closeBrowser()
+                .clearConfig();
+        server.close();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void mockServerServesMocksWithoutRoutesTest(BrowserName browserName) {
+        server = MockServer.start()
+                .serve(mock()
+                                .forUrl("**/index.html")
+                                .withContentType("text/html")
+                                .withBody("<html><h1>MOCK SERVER</h1></html>"),
+                        mock()
+                                .forUrl("**/api/item?*")
+                                .respondWith(request -> mockResponse()
+                                        .withContentType("application/json")
+                                        .withBody("{\"id\":" + request.getQueryParameter("id") + "}")));
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .contextConfig()
+                .withBaseURL(server.getUrl())
+                .and()
+                .startBrowser();
+        when()
+                .navigateTo("/index.html")
+                .expectThat()
+                .selector("h1")
+                .hasText("MOCK SERVER");
+        Object lastId = then()
+                .currentPage()
+                .evaluate("async () => { let last; for (let i = 0; i < 500; i++) { " +
+                        "last = (await (await fetch('api/item?id=' + i)).json()).id; } return last; }");
+        assertAll("Mock server",
+                () -> assertEquals(499, lastId),
+                () -> assertEquals(501, server.getServed())
+        );
+    }
+}
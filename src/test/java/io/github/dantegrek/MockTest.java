@@ -2,6 +2,8 @@ package io.github.dantegrek;
 
 import io.github.dantegrek.enums.BrowserName;
 import io.github.dantegrek.enums.RestMethod;
+import io.github.dantegrek.jplay.RouteStats;
+import io.github.dantegrek.jplay.tasks.PayloadCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -9,11 +11,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 import static io.github.dantegrek.jplay.Jplay.*;
 import static io.github.dantegrek.jplay.tasks.Mock.mock;
+import static io.github.dantegrek.jplay.tasks.MockResponse.mockResponse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MockTest {
 
@@ -65,6 +70,40 @@ public class MockTest {
                 .hasText("The Playground");
     }
 
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void relativeMockUrlIsResolvedAgainstBaseUrlTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .contextConfig()
+                .withBaseURL(playgroundUrl + "/")
+                .and()
+                .startBrowser();
+        when()
+                .set(mock()
+                        .forUrl("index.html")
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><h1>RELATIVE MOCK</h1></html>"))
+                .set(mock()
+                        .forUrl("api/item?id=1")
+                        .onCurrentPage()
+                        .withContentType("application/json")
+                        .withBody("{\"id\":1}"));
+        and()
+                .navigateTo("index.html");
+        then()
+                .expectThat()
+                .selector("h1")
+                .hasText("RELATIVE MOCK");
+        Object id = then()
+                .currentPage()
+                .evaluate("async () => (await (await fetch('api/item?id=1')).json()).id");
+        assertEquals(1, id);
+    }
+
     @ParameterizedTest
     @MethodSource("browsers")
     public void addMockForRestMethodTest(BrowserName browserName) {
@@ -88,6 +127,152 @@ public class MockTest {
                 .hasText("The Playground");
     }
 
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void mockCountsHitsAndMethodMissesTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl("page", playgroundUrl)
+                        .onCurrentContext()
+                        .withContentType("text/html")
+                        .withBody("<html><h1>MOCK!</h1></html>"))
+                .set(mock()
+                        .forUrl("cart", "**/api/cart")
+                        .onCurrentPage()
+                        .forMethod(RestMethod.POST)
+                        .withContentType("application/json")
+                        .withBody("{}"));
+        when()
+                .navigateTo(playgroundUrl)
+                .currentPage()
+                .evaluate("async () => { await fetch('api/cart'); await fetch('api/cart', {method: 'POST'}); }");
+        then()
+                .expectThat()
+                .mock("page")
+                .calledTimes(1)
+                .actor()
+                .expectThat()
+                .mock("cart")
+                .calledTimes(1)
+                .methodMissedTimes(1);
+        RouteStats cartStats = then().routeStats("cart");
+        assertEquals(1, Arrays.stream(cartStats.getLatencyHistogram()).sum());
+        assertTrue(cartStats.getMaxLatency().compareTo(cartStats.getLatencyPercentile(50)) >= 0);
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void delayedMockDoesNotBlockTestThreadTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl(playgroundUrl)
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><h1>MOCK!</h1></html>"))
+                .set(mock()
+                        .forUrl("**/api/slow")
+                        .onCurrentPage()
+                        .withDelay(1000)
+                        .withJitter(100)
+                        .withBandwidth(1000)
+                        .withContentType("text/plain")
+                        .withBody("SLOW"));
+        when()
+                .navigateTo(playgroundUrl)
+                .currentPage()
+                .evaluate("() => { window.started = Date.now(); " +
+                        "fetch('api/slow').then(r => r.text()).then(t => { window.finished = Date.now(); " +
+                        "document.querySelector('h1').innerText = t; }); }");
+        then()
+                .expectThat()
+                .selector("h1")
+                .hasText("MOCK!")
+                .and()
+                .selector("h1")
+                .hasText("SLOW");
+        Object took = then().currentPage().evaluate("() => window.finished - window.started");
+        assertTrue(((Number) took).longValue() >= 900);
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void mockGeneratesResponseFromRequestTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl(playgroundUrl + "/items*")
+                        .onCurrentContext()
+                        .withContentType("text/html")
+                        .respondWith(request -> "0".equals(request.getQueryParameter("page")) ?
+                                mockResponse().withStatusCode(404).withBody("<html><h1>NO PAGE</h1></html>") :
+                                mockResponse().withBody("<html><h1>PAGE " + request.getQueryParameter("page") +
+                                        "</h1></html>")));
+        for (int page = 1; page <= 3; page++) {
+            when()
+                    .navigateTo(playgroundUrl + "/items?page=" + page)
+                    .expectThat()
+                    .selector("h1")
+                    .hasText("PAGE " + page);
+        }
+        and()
+                .navigateTo(playgroundUrl + "/items?page=0")
+                .expectThat()
+                .selector("h1")
+                .hasText("NO PAGE");
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void latestMockWinsAmongManyMocksTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser();
+        for (int i = 0; i < 100; i++) {
+            when()
+                    .set(mock()
+                            .forUrl(playgroundUrl + "/page-" + i)
+                            .onCurrentContext()
+                            .withContentType("text/html")
+                            .withBody("<html><h1>PAGE " + i + "</h1></html>"));
+        }
+        when()
+                .set(mock()
+                        .forUrl("**/testautomation-playground")
+                        .onCurrentPage()
+                        .forMethod(RestMethod.GET)
+                        .withContentType("text/html")
+                        .withBody("<html><h1>GLOB MOCK!</h1></html>"))
+                .set(mock()
+                        .forUrl(playgroundUrl)
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><h1>EXACT MOCK!</h1></html>"));
+        and()
+                .navigateTo(playgroundUrl);
+        then()
+                .expectThat()
+                .selector("h1")
+                .hasText("EXACT MOCK!");
+        and()
+                .navigateTo(playgroundUrl + "/page-42")
+                .expectThat()
+                .selector("h1")
+                .hasText("PAGE 42");
+    }
+
     @ParameterizedTest
     @MethodSource("browsers")
     public void addRemoveMockWithPredicateOnPageTest(BrowserName browserName) {
@@ -226,6 +411,36 @@ public class MockTest {
                 .hasText("Jplay!");
     }
 
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void payloadFileIsReadOnceTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser();
+        long misses = PayloadCache.misses();
+        long hits = PayloadCache.hits();
+        when()
+                .set(mock()
+                        .forUrl("**/testautomation-playground")
+                        .onCurrentPage()
+                        .withPathToPayload(filePathToPayload))
+                .set(mock()
+                        .forUrl("**/testautomation-playground")
+                        .onCurrentContext()
+                        .withPathToPayload(filePathToPayload));
+        and()
+                .navigateTo(playgroundUrl)
+                .navigateTo(playgroundUrl);
+        then()
+                .expectThat()
+                .selector("h1")
+                .hasText("Jplay!");
+        assertTrue(PayloadCache.misses() - misses <= 1);
+        assertTrue(PayloadCache.hits() - hits >= 1);
+    }
+
     @ParameterizedTest
     @MethodSource("browsers")
     public void addOneTimeMockTest(BrowserName browserName) {
@@ -0,0 +1,65 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.jplay.Actor;
+import io.github.dantegrek.jplay.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NamedActorTest {
+
+    private static class RememberTask extends Task {
+        private final String value;
+
+        private RememberTask(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void perform() {
+            boundActor().remember("key", value);
+        }
+
+        private boolean isBound() {
+            return actor != null;
+        }
+    }
+
+    @Test
+    public void namedActorDoesNotDependOnThreadTest() throws Exception {
+        ExecutorService executor = Actor.newExecutor();
+        try (Actor named = Actor.create("named")) {
+            // task is created in other thread, but performed by named actor.
+            Future<?> future = executor.submit(() -> Actor.named("named").attemptTo(new RememberTask("value")));
+            future.get();
+
+            assertAll("Named actor",
+                    () -> assertEquals("value", named.recall("key")),
+                    () -> assertThrows(RuntimeException.class, () -> then().recall("key"), "actor of thread"),
+                    () -> assertThrows(RuntimeException.class, () -> Actor.create("named")));
+        } finally {
+            executor.shutdown();
+        }
+        assertThrows(RuntimeException.class, () -> Actor.named("named"));
+    }
+
+    @Test
+    public void taskBuiltInPoolThreadDoesNotCreateThreadActorTest() throws Exception {
+        ExecutorService executor = Actor.newExecutor();
+        try (Actor named = Actor.create("builder")) {
+            RememberTask task = executor.submit(() -> new RememberTask("built")).get();
+            assertFalse(task.isBound(), "task was bound to actor of pool thread");
+
+            named.attemptTo(task);
+            assertAll("Task built in pool thread",
+                    () -> assertTrue(task.isBound(), "task was not bound to actor which performed it"),
+                    () -> assertEquals("built", named.recall("key")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.enums.RestMethod;
+import io.github.dantegrek.jplay.CapturedRequest;
+import io.github.dantegrek.jplay.NetworkCapture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.opentest4j.AssertionFailedError;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static io.github.dantegrek.jplay.tasks.Mock.mock;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkCaptureTest {
+
+    private final String playgroundUrl = "https://dantegrek.github.io/testautomation-playground";
+
+    @AfterEach
+    public void afterEach() {
+        then()
+                .closeBrowser()
+                .clearConfig();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void captureRecordsRequestsIntoRingBufferTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl(playgroundUrl)
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><h1>CAPTURE</h1></html>"))
+                .set(mock()
+                        .forUrl("**/api/*")
+                        .onCurrentPage()
+                        .withContentType("application/json")
+                        .withBody("{\"items\":[\"first\",\"second\"]}"))
+                .startNetworkCapture(3, 8);
+        when()
+                .navigateTo(playgroundUrl)
+                .currentPage()
+                .evaluate("async () => { await fetch('api/cart', {method: 'POST', body: 'item=1234567890'}); " +
+                        "await fetch('api/user'); await fetch('api/orders'); }");
+        NetworkCapture capture = then().networkCapture();
+        CapturedRequest cart = capture.getRequests("**/api/cart").get(0);
+        AssertionFailedError dropped = assertThrows(AssertionFailedError.class, () -> then()
+                .expectThat()
+                .network()
+                .requested("**/api/cart")
+                .times(1));
+        then()
+                .expectThat()
+                .network()
+                .requested("**/api/*")
+                .atLeastTimes(3);
+        assertAll("Network capture",
+                () -> assertEquals(3, capture.getRequests().size()),
+                () -> assertEquals(1, capture.getDropped()),
+                () -> assertTrue(dropped.getMessage().contains("dropped 1 requests")),
+                () -> assertEquals("item=123", cart.getRequestBody()),
+                () -> assertEquals(15, cart.getRequestBodySize()),
+                () -> assertTrue(cart.isFinished())
+        );
+        capture.clear();
+        when()
+                .currentPage()
+                .evaluate("async () => { await fetch('api/cart', {method: 'POST', body: 'item=1'}); " +
+                        "await fetch('api/user'); }");
+        then()
+                .expectThat()
+                .network()
+                .requested("**/api/cart")
+                .withMethod(RestMethod.POST)
+                .withStatus(200)
+                .times(1)
+                .requested("**/api/user")
+                .atLeastTimes(1)
+                .requested(playgroundUrl)
+                .never();
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.jplay.LocalBrowserServers;
+import io.github.dantegrek.jplay.SharedBrowserExtension;
+import io.github.dantegrek.jplay.SharedBrowsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SharedBrowserExtension.class)
+public class SharedBrowserTest {
+
+    @AfterEach
+    public void afterEach() {
+        then()
+                .closeBrowser()
+                .clearConfig();
+        SharedBrowsers.closeAll();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void actorsOfDifferentThreadsShareBrowserTest(BrowserName browserName) {
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser();
+        // actor of other thread connects to the same browser process.
+        int contextsOfOtherActor = CompletableFuture.supplyAsync(() -> {
+            given()
+                    .browserConfig()
+                    .withBrowser(browserName)
+                    .withSharedBrowser(true)
+                    .and()
+                    .startBrowser();
+            int contexts = then().currentPage().context().browser().contexts().size();
+            then()
+                    .closeBrowser();
+            return contexts;
+        }).join();
+
+        assertAll("Shared browser",
+                () -> assertEquals(1, SharedBrowsers.count(), "shared browsers"),
+                () -> assertEquals(1, contextsOfOtherActor, "other actor sees only own context"),
+                () -> assertEquals(1, then().currentPage().context().browser().contexts().size(), "contexts of actor"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void localBrowserServerIsRegisteredForOtherForksTest(BrowserName browserName) throws IOException {
+        Path registryDir = Paths.get("target", "jplay-browser-servers");
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .withSharedBrowser(false)
+                .withLocalBrowserServer(true)
+                .and()
+                .startBrowser();
+        boolean isConnected = then().currentPage().context().browser().isConnected();
+        long serverFiles;
+        try (Stream<Path> files = Files.list(registryDir)) {
+            serverFiles = files.filter(file -> file.getFileName().toString().startsWith(browserName.name)
+                    && file.getFileName().toString().endsWith(".server")).count();
+        }
+        then()
+                .closeBrowser();
+        LocalBrowserServers.leave();
+        long serverFilesAfterLeave;
+        try (Stream<Path> files = Files.list(registryDir)) {
+            serverFilesAfterLeave = files.filter(file -> file.getFileName().toString().startsWith(browserName.name)
+                    && file.getFileName().toString().endsWith(".server")).count();
+        }
+
+        assertAll("Local browser server",
+                () -> assertTrue(isConnected, "browser is not connected"),
+                () -> assertEquals(1, serverFiles, "server is not registered"),
+                () -> assertEquals(1, serverFilesAfterLeave, "server is not kept for next fork"));
+    }
+}
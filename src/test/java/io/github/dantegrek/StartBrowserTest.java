@@ -55,6 +55,23 @@ public class StartBrowserTest {
                 "User agent of " + browserName.name + " does not contain " + expectedUserAgent);
     }
 
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void startBrowserAsyncTest(BrowserName browserName, String expectedUserAgent) {
+        Actor.actor()
+                .browserConfig()
+                .withBrowser(browserName)
+                .configIsFinished()
+                .startBrowserAsync()
+                // test data is prepared while browser starts.
+                .remember("user", "test user");
+        String userAgent = Actor.actor()
+                .does(TestAction.testAction())
+                .getUserAgent();
+        assertTrue(userAgent.contains(expectedUserAgent),
+                "User agent of " + browserName.name + " does not contain " + expectedUserAgent);
+    }
+
     @ParameterizedTest
     @MethodSource("devices")
     public void startDeviceTest(BrowserName browserName, io.github.dantegrek.interfaces.Device device) {
@@ -60,6 +60,32 @@ public class TabTest {
         assertEquals(1, context.pages().size(), UNEXPECTED_AMOUNT_OF_PAGES);
     }
 
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void openNewTabFromPagePoolTest(BrowserName browserName) {
+        BrowserContext context = actor()
+                .browserConfig()
+                .withBrowser(browserName)
+                .contextConfig()
+                .withPagePoolSize(2)
+                .and()
+                .startBrowser()
+                .currentPage()
+                .context();
+        Page warmPage = context.pages().get(1);
+        Page newTab = actor()
+                .openNewTab()
+                .currentPage();
+        int pagesAfterOpen = context.pages().size();
+        actor()
+                .closeCurrentTab();
+
+        assertAll("Page pool",
+                () -> assertSame(warmPage, newTab, "new tab was not taken from pool"),
+                () -> assertEquals(3, pagesAfterOpen, UNEXPECTED_AMOUNT_OF_PAGES),
+                () -> assertEquals(3, context.pages().size(), "pool was not refilled after tab was closed."));
+    }
+
     @Test
     public void openNewTabWithoutContextTest() {
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
@@ -0,0 +1,106 @@
+package io.github.dantegrek;
+
+import io.github.dantegrek.enums.BrowserName;
+import io.github.dantegrek.jplay.tasks.WebSocketMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+
+import static io.github.dantegrek.jplay.Jplay.*;
+import static io.github.dantegrek.jplay.tasks.Mock.mock;
+import static io.github.dantegrek.jplay.tasks.WebSocketMock.webSocketMock;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebSocketMockTest {
+
+    private final String playgroundUrl = "https://dantegrek.github.io/testautomation-playground";
+
+    @AfterEach
+    public void afterEach() {
+        then()
+                .closeBrowser()
+                .clearConfig();
+    }
+
+    public static Object[][] browsers() {
+        return new Object[][]{
+                {BrowserName.CHROMIUM},
+                {BrowserName.WEBKIT},
+                {BrowserName.FIREFOX}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void webSocketMockStreamsAndCapturesFramesTest(BrowserName browserName) {
+        WebSocketMock quotes = webSocketMock()
+                .forUrl("wss://quotes.example.com/**")
+                .onCurrentPage()
+                .withGeneratedFrames(1000, i -> "{\"price\":" + i + "}")
+                .withRate(2000)
+                .withCaptureSize(2);
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl(playgroundUrl)
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><body><h1>QUOTES</h1><script>" +
+                                "window.received = 0;" +
+                                "const socket = new WebSocket('wss://quotes.example.com/stream');" +
+                                "socket.onopen = () => { socket.send('subscribe'); socket.send('AAPL'); socket.send('MSFT'); };" +
+                                "socket.addEventListener('message', event => { window.received++; window.last = event.data; });" +
+                                "</script></body></html>"))
+                .set(quotes);
+        when()
+                .navigateTo(playgroundUrl)
+                .currentPage()
+                .waitForFunction("() => window.received === 1000");
+        assertAll("Web socket mock",
+                () -> assertEquals("{\"price\":999}", then().currentPage().evaluate("() => window.last")),
+                () -> assertEquals(1000, quotes.getDeliveredCount()),
+                () -> assertEquals(1, quotes.getOpenedSockets()),
+                () -> assertEquals(3, quotes.getSentCount()),
+                () -> assertEquals(Arrays.asList("AAPL", "MSFT"), quotes.getSentFrames())
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("browsers")
+    public void relativeWebSocketUrlIsResolvedAgainstBaseUrlTest(BrowserName browserName) {
+        WebSocketMock quotes = webSocketMock()
+                .forUrl("quotes?symbol=AAPL")
+                .onCurrentPage()
+                .withFrames("{\"price\":1}");
+        given()
+                .browserConfig()
+                .withBrowser(browserName)
+                .and()
+                .contextConfig()
+                .withBaseURL(playgroundUrl + "/")
+                .and()
+                .startBrowser()
+                .set(mock()
+                        .forUrl(playgroundUrl + "/")
+                        .onCurrentPage()
+                        .withContentType("text/html")
+                        .withBody("<html><body><h1>QUOTES</h1><script>" +
+                                "const socket = new WebSocket('quotes?symbol=AAPL');" +
+                                "socket.addEventListener('message', event => { window.last = event.data; });" +
+                                "</script></body></html>"))
+                .set(quotes);
+        when()
+                .navigateTo(playgroundUrl + "/")
+                .currentPage()
+                .waitForFunction("() => window.last !== undefined");
+        assertAll("Relative web socket mock",
+                () -> assertEquals("{\"price\":1}", then().currentPage().evaluate("() => window.last")),
+                () -> assertEquals(1, quotes.getOpenedSockets())
+        );
+    }
+}
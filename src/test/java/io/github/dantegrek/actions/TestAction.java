@@ -6,15 +6,15 @@ import io.github.dantegrek.jplay.Action;
 public class TestAction extends Action {
 
     public String getUserAgent() {
-        return (String) this.actor.currentPage().evaluate("window.navigator.userAgent");
+        return (String) boundActor().currentPage().evaluate("window.navigator.userAgent");
     }
 
     public ViewportSize getViewportSize() {
-        return this.actor.currentPage().viewportSize();
+        return boundActor().currentPage().viewportSize();
     }
 
     public int getDeviceScaleFactor() {
-        return (int) this.actor.currentPage().evaluate("window.devicePixelRatio");
+        return (int) boundActor().currentPage().evaluate("window.devicePixelRatio");
     }
 
     public static TestAction testAction() {
@@ -22,10 +22,10 @@ public class TestAction extends Action {
     }
 
     public String getRating() {
-       return this.actor.getPseudoElementContent(":light(.star-rating)", "::after");
+       return boundActor().getPseudoElementContent(":light(.star-rating)", "::after");
     }
 
     public String getNotExistingPseudoElement() {
-        return this.actor.getPseudoElementContent(":light(#check_rating)", "::before");
+        return boundActor().getPseudoElementContent(":light(#check_rating)", "::before");
     }
 }
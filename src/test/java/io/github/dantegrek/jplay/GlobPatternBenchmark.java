@@ -0,0 +1,166 @@
+package io.github.dantegrek.jplay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Micro-benchmark of url glob matching, run it by main method, it is not a test.
+ * Compares playwright path, where each route on each page compiles glob to regular expression,
+ * with GlobPattern which compiles glob once and matches common globs by prefix or suffix.
+ */
+public final class GlobPatternBenchmark {
+
+    private static final int PAGES = 50;
+    private static final int ROUNDS = 5;
+    private static final int MATCHES = 200_000;
+    private static final String[] GLOBS = {
+            "**/api/users",
+            "**/api/orders/*",
+            "https://dantegrek.github.io/**",
+            "**/*.{png,jpg,svg}",
+            "https://dantegrek.github.io/testautomation-playground",
+            "**/static/**/app.js"
+    };
+    private static final String[] URLS = {
+            "https://dantegrek.github.io/api/users",
+            "https://dantegrek.github.io/api/orders/42",
+            "https://dantegrek.github.io/testautomation-playground",
+            "https://cdn.example.com/images/logo.png",
+            "https://cdn.example.com/static/v1/js/app.js",
+            "https://other.example.com/index.html"
+    };
+
+    private GlobPatternBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<Predicate<String>> regexMatchers = regexMatchers();
+        List<Predicate<String>> globPatternMatchers = globPatternMatchers();
+        for (String url : URLS) {
+            for (int i = 0; i < GLOBS.length; i++) {
+                if (regexMatchers.get(i).test(url) != globPatternMatchers.get(i).test(url)) {
+                    throw new IllegalStateException(String.format("'%s' matches '%s' differently.", GLOBS[i], url));
+                }
+            }
+        }
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("Round %d%n", round);
+            report("compile, playwright path", compileRegex());
+            report("compile, GlobPattern", compileGlobPattern());
+            report("match, playwright path", match(regexMatchers));
+            report("match, GlobPattern", match(globPatternMatchers));
+        }
+    }
+
+    private static void report(String name, double nanosPerOperation) {
+        System.out.printf("  %-26s %10.1f ns/op%n", name, nanosPerOperation);
+    }
+
+    // Every page.route(glob) compiles its own regular expression.
+    private static double compileRegex() {
+        long start = System.nanoTime();
+        int compiled = 0;
+        for (int page = 0; page < PAGES; page++) {
+            for (String glob : GLOBS) {
+                compiled += Pattern.compile(playwrightRegex(glob)).pattern().length() > 0 ? 1 : 0;
+            }
+        }
+        return (double) (System.nanoTime() - start) / compiled;
+    }
+
+    private static double compileGlobPattern() {
+        long start = System.nanoTime();
+        int compiled = 0;
+        for (int page = 0; page < PAGES; page++) {
+            for (String glob : GLOBS) {
+                compiled += GlobPattern.compile(glob).getGlob().length() > 0 ? 1 : 0;
+            }
+        }
+        return (double) (System.nanoTime() - start) / compiled;
+    }
+
+    // Copy of glob conversion of playwright 1.17.
+    private static String playwrightRegex(String glob) {
+        StringBuilder tokens = new StringBuilder("^");
+        boolean inGroup = false;
+        for (int i = 0; i < glob.length(); ++i) {
+            char c = glob.charAt(i);
+            if ("/$^+.()=!|".indexOf(c) >= 0) {
+                tokens.append("\\").append(c);
+                continue;
+            }
+            if (c == '*') {
+                boolean beforeDeep = i < 1 || glob.charAt(i - 1) == '/';
+                int starCount = 1;
+                while (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    starCount++;
+                    i++;
+                }
+                boolean afterDeep = i + 1 >= glob.length() || glob.charAt(i + 1) == '/';
+                if (starCount > 1 && beforeDeep && afterDeep) {
+                    tokens.append("((?:[^/]*(?:/|$))*)");
+                    i++;
+                } else {
+                    tokens.append("([^/]*)");
+                }
+                continue;
+            }
+            switch (c) {
+                case '?':
+                    tokens.append('.');
+                    break;
+                case '{':
+                    inGroup = true;
+                    tokens.append('(');
+                    break;
+                case '}':
+                    inGroup = false;
+                    tokens.append(')');
+                    break;
+                case ',':
+                    tokens.append(inGroup ? "|" : "\\,");
+                    break;
+                default:
+                    tokens.append(c);
+            }
+        }
+        return tokens.append('$').toString();
+    }
+
+    private static List<Predicate<String>> regexMatchers() {
+        List<Predicate<String>> matchers = new ArrayList<>();
+        for (String glob : GLOBS) {
+            Pattern pattern = Pattern.compile(playwrightRegex(glob));
+            matchers.add(url -> pattern.matcher(url).find());
+        }
+        return matchers;
+    }
+
+    private static List<Predicate<String>> globPatternMatchers() {
+        List<Predicate<String>> matchers = new ArrayList<>();
+        for (String glob : GLOBS) {
+            matchers.add(GlobPattern.compile(glob));
+        }
+        return matchers;
+    }
+
+    private static double match(List<Predicate<String>> matchers) {
+        long start = System.nanoTime();
+        int matched = 0;
+        for (int i = 0; i < MATCHES; i++) {
+            String url = URLS[i % URLS.length];
+            for (Predicate<String> matcher : matchers) {
+                if (matcher.test(url)) {
+                    matched++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (matched == 0) {
+            throw new IllegalStateException("Nothing matched, benchmark is broken.");
+        }
+        return (double) elapsed / ((long) MATCHES * matchers.size());
+    }
+}
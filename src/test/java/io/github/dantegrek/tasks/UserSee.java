@@ -20,7 +20,7 @@ public class UserSee extends Task {
 
     @Override
     public void perform() {
-        this.actor.softExpectThat()
+        boundActor().softExpectThat()
                 .locator(this.locator)
                 .isVisible()
                 .hasText(this.expectedText)